@@ -6,16 +6,24 @@ import io.github.railgun19457.easyland.core.ConfigManager;
 import io.github.railgun19457.easyland.core.FlagManager;
 import io.github.railgun19457.easyland.core.LandCache;
 import io.github.railgun19457.easyland.core.LandManager;
+import io.github.railgun19457.easyland.core.LandSnapshot;
 import io.github.railgun19457.easyland.core.PermissionManager;
+import io.github.railgun19457.easyland.core.PlayerNameCache;
+import io.github.railgun19457.easyland.core.PlayerSessionCache;
+import io.github.railgun19457.easyland.core.TrustIndex;
 import io.github.railgun19457.easyland.listener.BlockProtectionListener;
+import io.github.railgun19457.easyland.listener.BoundaryProtectionListener;
 import io.github.railgun19457.easyland.listener.ContainerProtectionListener;
 import io.github.railgun19457.easyland.listener.ExplosionProtectionListener;
 import io.github.railgun19457.easyland.listener.LandEnterLeaveListener;
 import io.github.railgun19457.easyland.listener.MobProtectionListener;
 import io.github.railgun19457.easyland.listener.PlayerProtectionListener;
+import io.github.railgun19457.easyland.listener.PlayerSessionListener;
 import io.github.railgun19457.easyland.listener.SelectionToolListener;
 import io.github.railgun19457.easyland.core.SelectionManager;
 import io.github.railgun19457.easyland.model.Land;
+import io.github.railgun19457.easyland.model.LandSummary;
+import io.github.railgun19457.easyland.storage.DatabaseExecutor;
 import io.github.railgun19457.easyland.storage.DatabaseManager;
 import io.github.railgun19457.easyland.storage.LandDAO;
 import io.github.railgun19457.easyland.storage.LandTrustDAO;
@@ -29,6 +37,7 @@ import org.bukkit.plugin.java.JavaPlugin;
 
 import java.io.IOException;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -42,12 +51,16 @@ public class EasyLand extends JavaPlugin implements EasylandAPI {
     private static EasyLand instance;
     private Logger logger;
     private DatabaseManager databaseManager;
+    private DatabaseExecutor databaseExecutor;
     private LandDAO landDAO;
     private PlayerDAO playerDAO;
     private LandTrustDAO landTrustDAO;
     private I18nManager i18nManager;
     private ConfigManager configManager;
     private LandCache landCache;
+    private TrustIndex trustIndex;
+    private PlayerSessionCache playerSessionCache;
+    private PlayerNameCache playerNameCache;
     private PermissionManager permissionManager;
     private LandManager landManager;
     private FlagManager flagManager;
@@ -67,6 +80,9 @@ public class EasyLand extends JavaPlugin implements EasylandAPI {
         saveDefaultConfig();
 
         try {
+            // 初始化配置管理器，数据库连接设置来自配置文件
+            configManager = new ConfigManager(logger, this);
+            
             // 初始化数据库
             initializeDatabase();
 
@@ -76,6 +92,14 @@ public class EasyLand extends JavaPlugin implements EasylandAPI {
             // 确保所有领地都有完整的标志
             ensureDatabaseIntegrity();
 
+            // 加载领地空间索引和信任索引
+            landCache.loadAll();
+            trustIndex.loadAll();
+            playerNameCache.loadAll();
+
+            // 为已在线的玩家（例如插件重载后）加载会话缓存，必须在注册监听器之前完成
+            loadOnlinePlayerSessions();
+
             // 注册事件监听器
             registerListeners();
             
@@ -94,6 +118,15 @@ public class EasyLand extends JavaPlugin implements EasylandAPI {
     public void onDisable() {
         logger.info("EasyLand 插件正在关闭...");
 
+        if (landCache != null) {
+            logger.info(landCache.getCacheStats());
+        }
+
+        // 等待排队中的数据库写入完成，必须在关闭连接之前
+        if (databaseExecutor != null) {
+            databaseExecutor.shutdown();
+        }
+
         // 关闭数据库连接
         if (databaseManager != null) {
             try {
@@ -115,7 +148,7 @@ public class EasyLand extends JavaPlugin implements EasylandAPI {
         logger.info("初始化数据库...");
         
         // 初始化数据库管理器
-        databaseManager = new DatabaseManager(getDataFolder(), logger);
+        databaseManager = new DatabaseManager(getDataFolder(), logger, configManager.getDatabaseSettings());
         try {
             databaseManager.initialize();
         } catch (IOException e) {
@@ -159,24 +192,31 @@ public class EasyLand extends JavaPlugin implements EasylandAPI {
     private void initializeManagers() {
         logger.info("初始化管理器...");
         
-        // 初始化配置管理器
-        configManager = new ConfigManager(logger, this);
-        
         // 初始化国际化管理器
         i18nManager = new I18nManager(logger, getDataFolder(), this);
         i18nManager.initialize();
         
         // 初始化领地缓存
-        landCache = new LandCache(logger, landDAO);
+        landCache = new LandCache(logger, landDAO, configManager);
+        
+        // 初始化信任索引
+        trustIndex = new TrustIndex(logger, landTrustDAO);
+        
+        // 初始化数据库执行器，命令的数据库操作在其线程中执行
+        databaseExecutor = new DatabaseExecutor(logger, configManager.getDatabaseSettings().getReaderConnections());
+        
+        // 初始化玩家名称缓存和会话缓存
+        playerNameCache = new PlayerNameCache(logger, playerDAO, databaseExecutor);
+        playerSessionCache = new PlayerSessionCache(logger, playerDAO, playerNameCache, databaseExecutor);
         
         // 初始化权限管理器
-        permissionManager = new PermissionManager(logger, playerDAO, landTrustDAO);
+        permissionManager = new PermissionManager(logger, playerSessionCache, trustIndex);
         
         // 初始化领地管理器
-        landManager = new LandManager(logger, landDAO, playerDAO, landTrustDAO, i18nManager, configManager, landCache, permissionManager);
+        landManager = new LandManager(logger, landDAO, playerDAO, landTrustDAO, i18nManager, configManager, landCache, trustIndex, playerSessionCache, permissionManager, databaseExecutor);
         
         // 初始化标志管理器
-        flagManager = new FlagManager(logger, landManager, landDAO, configManager, landCache);
+        flagManager = new FlagManager(logger, landManager, configManager, landCache);
         flagManager.setPermissionManager(permissionManager);
         
         // 初始化可视化器
@@ -198,6 +238,10 @@ public class EasyLand extends JavaPlugin implements EasylandAPI {
         getServer().getPluginManager().registerEvents(
             new BlockProtectionListener(flagManager), this);
         
+        // 注册边界保护监听器（液体、活塞、发射器、方块蔓延）
+        getServer().getPluginManager().registerEvents(
+            new BoundaryProtectionListener(flagManager), this);
+        
         // 注册爆炸保护监听器
         getServer().getPluginManager().registerEvents(
             new ExplosionProtectionListener(flagManager), this);
@@ -208,7 +252,7 @@ public class EasyLand extends JavaPlugin implements EasylandAPI {
         
         // 注册容器保护监听器
         getServer().getPluginManager().registerEvents(
-            new ContainerProtectionListener(flagManager), this);
+            new ContainerProtectionListener(flagManager, configManager), this);
 
         // 注册怪物生成保护监听器
         getServer().getPluginManager().registerEvents(
@@ -221,10 +265,23 @@ public class EasyLand extends JavaPlugin implements EasylandAPI {
         // 注册领地进出监听器
         getServer().getPluginManager().registerEvents(
             new LandEnterLeaveListener(this), this);
+
+        // 注册玩家会话监听器
+        getServer().getPluginManager().registerEvents(
+            new PlayerSessionListener(playerSessionCache), this);
         
         logger.info("事件监听器注册完成。");
     }
     
+    /**
+     * 同步为当前在线的玩家加载会话缓存，使监听器注册后权限检查可以只读取内存。
+     */
+    private void loadOnlinePlayerSessions() {
+        for (org.bukkit.entity.Player player : getServer().getOnlinePlayers()) {
+            playerSessionCache.loadSession(player.getUniqueId(), player.getName());
+        }
+    }
+
     /**
      * 注册所有命令。
      */
@@ -301,6 +358,33 @@ public class EasyLand extends JavaPlugin implements EasylandAPI {
     public LandCache getLandCache() {
         return landCache;
     }
+
+    /**
+     * 获取玩家名称缓存。
+     *
+     * @return 玩家名称缓存实例
+     */
+    public PlayerNameCache getPlayerNameCache() {
+        return playerNameCache;
+    }
+
+    /**
+     * 获取在线玩家会话缓存。
+     *
+     * @return 玩家会话缓存实例
+     */
+    public PlayerSessionCache getPlayerSessionCache() {
+        return playerSessionCache;
+    }
+
+    /**
+     * 获取信任关系索引。
+     *
+     * @return 信任关系索引实例
+     */
+    public TrustIndex getTrustIndex() {
+        return trustIndex;
+    }
     
     /**
      * 获取选区管理器。
@@ -320,6 +404,15 @@ public class EasyLand extends JavaPlugin implements EasylandAPI {
         return databaseManager;
     }
 
+    /**
+     * 获取数据库执行器。
+     *
+     * @return 数据库执行器实例
+     */
+    public DatabaseExecutor getDatabaseExecutor() {
+        return databaseExecutor;
+    }
+
     /**
      * 获取玩家数据访问对象。
      *
@@ -359,43 +452,56 @@ public class EasyLand extends JavaPlugin implements EasylandAPI {
 
     // 实现 EasylandAPI 接口方法
 
+    // 以下位置查询基于 LandCache 发布的不可变快照，可以在任意线程中无锁调用且不会访问数据库
+    // 快照中的领地对象被索引共享，返回给调用方的都是副本，以免外部修改破坏索引
+
     @Override
     public Optional<Land> getLandAt(Location location) {
-        if (landManager == null) {
+        return findLandAt(location).map(Land::new);
+    }
+
+    @Override
+    public Optional<Land> getLandAt(String worldName, int x, int z) {
+        return findLandAt(worldName, x, z).map(Land::new);
+    }
+
+    /**
+     * 在快照中查找某位置的领地，返回索引中的共享对象，仅供内部只读使用。
+     */
+    private Optional<Land> findLandAt(Location location) {
+        if (location.getWorld() == null) {
             return Optional.empty();
         }
-        Land land = landManager.getLandAt(location);
-        return land != null ? Optional.of(land) : Optional.empty();
+        return findLandAt(location.getWorld().getName(), location.getBlockX(), location.getBlockZ());
+    }
+
+    private Optional<Land> findLandAt(String worldName, int x, int z) {
+        if (landCache == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(landCache.getSnapshot().getLandAt(worldName, x, z));
     }
 
     @Override
     public boolean isProtected(Location location) {
-        return getLandAt(location).isPresent();
+        return findLandAt(location).isPresent();
     }
 
     @Override
     public Optional<UUID> getOwner(Location location) {
-        Optional<Land> landOpt = getLandAt(location);
-        if (landOpt.isPresent()) {
-            Land land = landOpt.get();
-            try {
-                if (playerDAO != null) {
-                    return playerDAO.getPlayerById(land.getOwnerId())
-                                    .map(io.github.railgun19457.easyland.model.Player::getUuid);
-                }
-            } catch (SQLException e) {
-                logger.warning("获取领地所有者时出错: " + e.getMessage());
-            }
+        if (playerNameCache == null) {
+            return Optional.empty();
         }
-        return Optional.empty();
+        // 领地主人在启动时已加载到内存中
+        return findLandAt(location).map(land -> playerNameCache.getUuid(land.getOwnerId()));
     }
 
     @Override
     public Optional<Land> getLandById(int landId) {
-        if (landManager == null) {
+        if (landCache == null) {
             return Optional.empty();
         }
-        return landManager.getLandById(landId);
+        return Optional.ofNullable(landCache.getSnapshot().getLandById(landId)).map(Land::new);
     }
 
     @Override
@@ -406,29 +512,37 @@ public class EasyLand extends JavaPlugin implements EasylandAPI {
     
     @Override
     public List<Land> getPlayerLands(UUID playerUuid, int page, int pageSize) {
-        if (landManager == null) {
+        if (landManager == null || landCache == null) {
+            return List.of();
+        }
+        if (page < 1 || pageSize < 1) {
             return List.of();
         }
-        // 获取所有领地，然后进行分页处理
         try {
             // 获取玩家数据库ID
-            Optional<io.github.railgun19457.easyland.model.Player> playerOpt = playerDAO.getPlayerByUuid(playerUuid);
+            Optional<io.github.railgun19457.easyland.model.Player> playerOpt = playerSessionCache.getPlayer(playerUuid);
             if (!playerOpt.isPresent()) {
                 return List.of();
             }
+            int ownerId = playerOpt.get().getId();
             
-            // 获取所有领地
-            List<Land> allLands = landDAO.getLandsByOwner(playerOpt.get().getId());
-            
-            // 应用分页
-            int startIndex = (page - 1) * pageSize;
-            int endIndex = Math.min(startIndex + pageSize, allLands.size());
-            
-            if (startIndex >= allLands.size()) {
+            // 通过ID游标只读取这一页的领地摘要
+            int cursor = landDAO.getPageCursorByOwner(ownerId, (page - 1) * pageSize);
+            if (cursor < 0) {
                 return List.of();
             }
+            List<LandSummary> summaries = landDAO.getLandSummariesByOwner(ownerId, cursor, pageSize);
             
-            return allLands.subList(startIndex, endIndex);
+            // 完整的领地对象（含标志和信任列表）从内存快照中获取
+            LandSnapshot snapshot = landCache.getSnapshot();
+            List<Land> lands = new ArrayList<>(summaries.size());
+            for (LandSummary summary : summaries) {
+                Land land = snapshot.getLandById(summary.getId());
+                if (land != null) {
+                    lands.add(new Land(land));
+                }
+            }
+            return lands;
         } catch (SQLException e) {
             logger.warning("获取玩家领地时出错: " + e.getMessage());
             return List.of();
@@ -451,13 +565,13 @@ public class EasyLand extends JavaPlugin implements EasylandAPI {
     @Override
     public boolean isTrusted(UUID playerUuid, int landId) {
         try {
-            if (playerDAO == null || landTrustDAO == null) {
+            if (playerSessionCache == null || trustIndex == null) {
                 return false;
             }
             // 获取玩家数据库 ID
-            Optional<io.github.railgun19457.easyland.model.Player> playerOpt = playerDAO.getPlayerByUuid(playerUuid);
+            Optional<io.github.railgun19457.easyland.model.Player> playerOpt = playerSessionCache.getPlayer(playerUuid);
             if (playerOpt.isPresent()) {
-                return landTrustDAO.isPlayerTrusted(landId, playerOpt.get().getId());
+                return trustIndex.isTrusted(landId, playerOpt.get().getId());
             }
         } catch (SQLException e) {
             logger.warning("检查玩家信任状态时出错: " + e.getMessage());
@@ -487,19 +601,19 @@ public class EasyLand extends JavaPlugin implements EasylandAPI {
 
     @Override
     public List<Land> getLandsInWorld(String worldName) {
-        try {
-            if (landDAO == null) {
-                return List.of();
-            }
-            return landDAO.getLandsByWorld(worldName);
-        } catch (SQLException e) {
-            logger.warning("获取世界领地列表时出错: " + e.getMessage());
+        if (landCache == null) {
             return List.of();
         }
+        List<Land> lands = landCache.getSnapshot().getLandsInWorld(worldName);
+        List<Land> copies = new ArrayList<>(lands.size());
+        for (Land land : lands) {
+            copies.add(new Land(land));
+        }
+        return copies;
     }
 
     @Override
     public boolean isInLand(Location location) {
-        return getLandAt(location).isPresent();
+        return findLandAt(location).isPresent();
     }
 }
\ No newline at end of file
@@ -10,6 +10,10 @@ import java.util.UUID;
 /**
  * Easyland 插件的公共 API 接口。
  * 提供给其他插件安全访问 Easyland 核心功能的方法。
+ * <p>
+ * 位置和领地查询（getLandAt、isProtected、getOwner、getLandById、getLandsInWorld、isInLand）
+ * 读取领地索引的不可变快照，线程安全、不会阻塞也不会访问数据库，可以在异步线程中调用。
+ * 返回的 Land 对象都是副本，修改它们不会影响插件内部的数据，也不会被保存。
  */
 public interface EasylandAPI {
     
@@ -21,6 +25,17 @@ public interface EasylandAPI {
      */
     Optional<Land> getLandAt(Location location);
     
+    /**
+     * 获取指定世界坐标处的领地。
+     * 不需要创建 Location 对象，适合批量检查方块。
+     *
+     * @param worldName 世界名称
+     * @param x         方块 X 坐标
+     * @param z         方块 Z 坐标
+     * @return 如果坐标处有领地则返回领地对象，否则返回 Optional.empty()
+     */
+    Optional<Land> getLandAt(String worldName, int x, int z);
+    
     /**
      * 检查指定位置是否受保护。
      *
@@ -31,6 +46,7 @@ public interface EasylandAPI {
     
     /**
      * 获取指定位置的领地所有者 UUID。
+     * 所有者信息来自内存缓存，极少数未缓存的情况下返回 Optional.empty()。
      *
      * @param location 要检查的位置
      * @return 如果位置有领地则返回所有者 UUID，否则返回 Optional.empty()
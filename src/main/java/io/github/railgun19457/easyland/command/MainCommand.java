@@ -3,10 +3,14 @@ package io.github.railgun19457.easyland.command;
 import io.github.railgun19457.easyland.EasyLand;
 import io.github.railgun19457.easyland.I18nManager;
 import io.github.railgun19457.easyland.core.LandManager;
+import io.github.railgun19457.easyland.core.LandPage;
+import io.github.railgun19457.easyland.exception.LandNameExistsException;
+import io.github.railgun19457.easyland.exception.LandNotFoundException;
 import io.github.railgun19457.easyland.exception.MigrationFileNotFoundException;
 import io.github.railgun19457.easyland.exception.SubClaimException;
 import io.github.railgun19457.easyland.migration.MigrationManager;
 import io.github.railgun19457.easyland.model.Land;
+import io.github.railgun19457.easyland.model.LandSummary;
 import org.bukkit.Location;
 import org.bukkit.command.Command;
 import org.bukkit.command.CommandExecutor;
@@ -19,6 +23,9 @@ import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
 import java.util.logging.Logger;
 
 /**
@@ -149,6 +156,48 @@ public class MainCommand implements CommandExecutor, TabCompleter {
         return true;
     }
     
+    /**
+     * 在异步数据库操作完成后，回到服务器主线程处理结果。
+     * 操作出错时记录日志并向玩家发送数据库错误消息；玩家已下线或插件已关闭时丢弃结果。
+     *
+     * @param player   发起命令的玩家
+     * @param future   异步操作
+     * @param callback 在主线程中处理结果的回调
+     */
+    private <T> void whenComplete(Player player, CompletableFuture<T> future, Consumer<T> callback) {
+        whenComplete(player, future, callback, error -> {
+            logger.severe("执行玩家 " + player.getName() + " 的命令时数据库操作出错: " + error.getMessage());
+            player.sendMessage(i18nManager.getMessage("general.database-error"));
+        });
+    }
+    
+    /**
+     * 在异步数据库操作完成后，回到服务器主线程处理结果或错误。
+     * 玩家已下线或插件已关闭时丢弃结果。
+     *
+     * @param player        发起命令的玩家
+     * @param future        异步操作
+     * @param callback      在主线程中处理结果的回调
+     * @param errorCallback 在主线程中处理错误的回调，参数为解包后的原始异常
+     */
+    private <T> void whenComplete(Player player, CompletableFuture<T> future, Consumer<T> callback, Consumer<Throwable> errorCallback) {
+        future.whenComplete((result, error) -> {
+            if (!plugin.isEnabled()) {
+                return;
+            }
+            plugin.getServer().getScheduler().runTask(plugin, () -> {
+                if (!player.isOnline()) {
+                    return;
+                }
+                if (error != null) {
+                    errorCallback.accept(error instanceof CompletionException && error.getCause() != null ? error.getCause() : error);
+                } else {
+                    callback.accept(result);
+                }
+            });
+        });
+    }
+    
     @Override
     public boolean onCommand(CommandSender sender, Command command, String label, String[] args) {
         // 获取实际使用的命令名称（可能是 easyland 或 el）
@@ -291,13 +340,13 @@ public class MainCommand implements CommandExecutor, TabCompleter {
         }
         
         String landId = args[1];
-        boolean success = landManager.claimLand(player, landId);
-        
-        if (success) {
-            player.sendMessage(i18nManager.getMessage("claim.success"));
-        } else {
-            player.sendMessage(i18nManager.getMessage("claim.failed"));
-        }
+        whenComplete(player, landManager.claimLandAsync(player, landId), success -> {
+            if (success) {
+                player.sendMessage(i18nManager.getMessage("claim.success"));
+            } else {
+                player.sendMessage(i18nManager.getMessage("claim.failed"));
+            }
+        });
     }
     
     /**
@@ -313,13 +362,13 @@ public class MainCommand implements CommandExecutor, TabCompleter {
         }
         
         String landId = args[1];
-        boolean success = landManager.deleteLand(player, landId);
-        
-        if (success) {
-            player.sendMessage(i18nManager.getMessage("delete.success"));
-        } else {
-            player.sendMessage(i18nManager.getMessage("delete.not-found"));
-        }
+        whenComplete(player, landManager.deleteLandAsync(player, landId), success -> {
+            if (success) {
+                player.sendMessage(i18nManager.getMessage("delete.success"));
+            } else {
+                player.sendMessage(i18nManager.getMessage("delete.not-found"));
+            }
+        });
     }
     
     /**
@@ -341,35 +390,31 @@ public class MainCommand implements CommandExecutor, TabCompleter {
             }
         }
         
-        List<Land> lands;
-        String listOwner;
-        int totalLands = 0;
-        int perPage = plugin.getConfigManager().getListPerPage();
+        int currentPage = page;
         
         // 管理员可以查看所有领地
         if (permissionManager.isAdmin(player)) {
-            // 获取所有领地用于计算总数
-            List<Land> allLands = landManager.getAllLands();
-            totalLands = allLands.size();
-            
-            // 应用分页
-            int startIndex = (page - 1) * perPage;
-            int endIndex = Math.min(startIndex + perPage, totalLands);
-            
-            if (startIndex >= totalLands) {
-                lands = List.of();
-            } else {
-                lands = allLands.subList(startIndex, endIndex);
-            }
-            
-            listOwner = i18nManager.getMessage("list.all-lands");
+            whenComplete(player, landManager.listAllLandsAsync(currentPage), landPage ->
+                showLandList(player, landPage, i18nManager.getMessage("list.all-lands"), currentPage, commandName));
         } else {
-            // 先获取第一页来判断是否有数据
-            lands = landManager.listPlayerLands(player.getUniqueId(), page);
-            // 由于无法直接获取总数，我们使用一个简化的显示方式
-            // 如果有结果，就显示当前页，如果没有结果就提示为空
-            listOwner = player.getName();
+            whenComplete(player, landManager.listPlayerLandsAsync(player.getUniqueId(), currentPage), landPage ->
+                showLandList(player, landPage, player.getName(), currentPage, commandName));
         }
+    }
+    
+    /**
+     * 显示一页领地列表，必须在主线程中调用。
+     *
+     * @param player      玩家
+     * @param landPage    当前页的领地及领地总数
+     * @param listOwner   列表标题中显示的主人
+     * @param page        当前页码
+     * @param commandName 命令名称
+     */
+    private void showLandList(Player player, LandPage landPage, String listOwner, int page, String commandName) {
+        int perPage = plugin.getConfigManager().getListPerPage();
+        List<LandSummary> lands = landPage.getLands();
+        int totalLands = landPage.getTotalLands();
         
         if (lands.isEmpty()) {
             player.sendMessage(i18nManager.getMessage("list.empty"));
@@ -379,8 +424,8 @@ public class MainCommand implements CommandExecutor, TabCompleter {
         // 显示头部，包含页码信息
         player.sendMessage(i18nManager.getMessage("list.header", listOwner));
         
-        if (permissionManager.isAdmin(player) && totalLands > 0) {
-            // 管理员显示详细分页信息
+        if (totalLands > 0) {
+            // 领地总数由单独的计数查询得到，所有玩家都显示详细分页信息
             int totalPages = (int) Math.ceil((double) totalLands / perPage);
             player.sendMessage(i18nManager.getMessage("list.page-info", String.valueOf(page), String.valueOf(totalPages), String.valueOf(totalLands)));
         } else {
@@ -390,7 +435,7 @@ public class MainCommand implements CommandExecutor, TabCompleter {
         
         player.sendMessage(i18nManager.getMessage("list.separator"));
         
-        for (Land land : lands) {
+        for (LandSummary land : lands) {
             // 获取领地主人名称
             String ownerName = getOwnerName(land.getOwnerId());
             
@@ -427,14 +472,9 @@ public class MainCommand implements CommandExecutor, TabCompleter {
             player.sendMessage(message);
         }
         
-        // 显示下一页提示（仅对管理员且有足够领地时）
-        if (permissionManager.isAdmin(player) && totalLands > 0) {
-            int totalPages = (int) Math.ceil((double) totalLands / perPage);
-            if (page < totalPages) {
-                player.sendMessage(i18nManager.getMessage("list.next-page", "/" + commandName + " list " + (page + 1)));
-            }
-        } else if (lands.size() >= perPage) {
-            // 普通玩家，如果当前页满了，提示可能还有下一页
+        // 显示下一页提示
+        int totalPages = (int) Math.ceil((double) totalLands / perPage);
+        if (page < totalPages) {
             player.sendMessage(i18nManager.getMessage("list.next-page", "/" + commandName + " list " + (page + 1)));
         }
     }
@@ -472,13 +512,14 @@ public class MainCommand implements CommandExecutor, TabCompleter {
             }
         }
         
-        boolean success = landManager.trustPlayer(player, landId, targetPlayer);
-        
-        if (success) {
-            player.sendMessage(i18nManager.getMessage("trust.success", targetPlayer.getName()));
-        } else {
-            player.sendMessage(i18nManager.getMessage("trust.failed"));
-        }
+        String targetName = targetPlayer.getName();
+        whenComplete(player, landManager.trustPlayerAsync(player, landId, targetPlayer), success -> {
+            if (success) {
+                player.sendMessage(i18nManager.getMessage("trust.success", targetName));
+            } else {
+                player.sendMessage(i18nManager.getMessage("trust.failed"));
+            }
+        });
     }
     
     /**
@@ -508,13 +549,14 @@ public class MainCommand implements CommandExecutor, TabCompleter {
             }
         }
         
-        boolean success = landManager.untrustPlayer(player, landId, targetPlayer);
-        
-        if (success) {
-            player.sendMessage(i18nManager.getMessage("trust.untrust-success", targetPlayer.getName()));
-        } else {
-            player.sendMessage(i18nManager.getMessage("trust.untrust-failed"));
-        }
+        String targetName = targetPlayer.getName();
+        whenComplete(player, landManager.untrustPlayerAsync(player, landId, targetPlayer), success -> {
+            if (success) {
+                player.sendMessage(i18nManager.getMessage("trust.untrust-success", targetName));
+            } else {
+                player.sendMessage(i18nManager.getMessage("trust.untrust-failed"));
+            }
+        });
     }
 
     /**
@@ -530,27 +572,27 @@ public class MainCommand implements CommandExecutor, TabCompleter {
         }
         
         String landId = args[1];
-        Optional<io.github.railgun19457.easyland.model.Land> landOpt = landManager.getLandByIdOrName(landId);
-        
-        if (landOpt.isEmpty()) {
-            player.sendMessage(i18nManager.getMessage("delete.not-found"));
-            return;
-        }
-        
-        io.github.railgun19457.easyland.model.Land land = landOpt.get();
-        
-        List<io.github.railgun19457.easyland.model.Player> trustedPlayers = land.getTrustedPlayers();
-        if (trustedPlayers == null || trustedPlayers.isEmpty()) {
-            player.sendMessage(i18nManager.getMessage("trust.list.empty", land.getName()));
-            return;
-        }
-        
-        String playerNames = trustedPlayers.stream()
-            .map(io.github.railgun19457.easyland.model.Player::getName)
-            .collect(java.util.stream.Collectors.joining(", "));
+        whenComplete(player, landManager.getLandByIdOrNameAsync(landId), landOpt -> {
+            if (landOpt.isEmpty()) {
+                player.sendMessage(i18nManager.getMessage("delete.not-found"));
+                return;
+            }
+            
+            io.github.railgun19457.easyland.model.Land land = landOpt.get();
             
-        player.sendMessage(i18nManager.getMessage("trust.list.header", land.getName()));
-        player.sendMessage(i18nManager.getMessage("trust.list.players", playerNames));
+            List<io.github.railgun19457.easyland.model.Player> trustedPlayers = land.getTrustedPlayers();
+            if (trustedPlayers == null || trustedPlayers.isEmpty()) {
+                player.sendMessage(i18nManager.getMessage("trust.list.empty", land.getName()));
+                return;
+            }
+            
+            String playerNames = trustedPlayers.stream()
+                .map(io.github.railgun19457.easyland.model.Player::getName)
+                .collect(java.util.stream.Collectors.joining(", "));
+                
+            player.sendMessage(i18nManager.getMessage("trust.list.header", land.getName()));
+            player.sendMessage(i18nManager.getMessage("trust.list.players", playerNames));
+        });
     }
     
     /**
@@ -561,60 +603,96 @@ public class MainCommand implements CommandExecutor, TabCompleter {
             return;
         }
         
-        Land land;
-        
         if (args.length >= 2) {
             // 查看指定领地信息
             String landIdOrName = args[1];
-            Optional<Land> landOpt = landManager.getLandByIdOrName(landIdOrName);
-            if (landOpt.isPresent()) {
-                land = landOpt.get();
-            } else {
-                player.sendMessage(i18nManager.getMessage("info.no-land-here"));
-                return;
-            }
+            whenComplete(player, landManager.getLandByIdOrNameAsync(landIdOrName), landOpt -> {
+                if (landOpt.isPresent()) {
+                    showLandInfo(player, landOpt.get());
+                } else {
+                    player.sendMessage(i18nManager.getMessage("info.no-land-here"));
+                }
+            });
         } else {
             // 查看当前位置的领地信息
-            land = landManager.getLandAt(player.getLocation());
+            Land land = landManager.getLandAt(player.getLocation());
             if (land == null) {
                 player.sendMessage(i18nManager.getMessage("info.no-land-here"));
                 return;
             }
+            showLandInfo(player, land);
+        }
+    }
+    
+    /**
+     * 在读线程中查询领地主人后显示领地信息。
+     *
+     * @param player 玩家
+     * @param land   领地
+     */
+    private void showLandInfo(Player player, Land land) {
+        if (land.getOwnerId() == 0) {
+            sendLandInfo(player, land, null);
+            return;
         }
         
-        // 显示领地信息
+        CompletableFuture<Optional<io.github.railgun19457.easyland.model.Player>> ownerFuture = plugin.getDatabaseExecutor().read(() -> {
+            try {
+                return plugin.getPlayerDAO().getPlayerById(land.getOwnerId());
+            } catch (java.sql.SQLException e) {
+                logger.warning("Error fetching owner name for land " + land.getId() + ": " + e.getMessage());
+                return Optional.empty();
+            }
+        });
+        
+        whenComplete(player, ownerFuture, ownerOpt -> {
+            String ownerName = "Unknown";
+            if (ownerOpt.isPresent()) {
+                io.github.railgun19457.easyland.model.Player owner = ownerOpt.get();
+                ownerName = owner.getName();
+                
+                // 尝试修复 Unknown 的名字
+                if ("Unknown".equals(ownerName) || ownerName == null) {
+                    java.util.UUID ownerUuid = owner.getUuid();
+                    org.bukkit.OfflinePlayer offlinePlayer = plugin.getServer().getOfflinePlayer(ownerUuid);
+                    if (offlinePlayer != null && offlinePlayer.getName() != null) {
+                        ownerName = offlinePlayer.getName();
+                        // 在写线程中更新数据库
+                        owner.setName(ownerName);
+                        plugin.getDatabaseExecutor().write(() -> {
+                            try {
+                                plugin.getPlayerDAO().updatePlayer(owner);
+                                return true;
+                            } catch (java.sql.SQLException e) {
+                                logger.warning("Error updating owner name for land " + land.getId() + ": " + e.getMessage());
+                                return false;
+                            }
+                        });
+                    }
+                }
+            }
+            sendLandInfo(player, land, ownerName);
+        });
+    }
+    
+    /**
+     * 向玩家发送领地信息，必须在主线程中调用。
+     *
+     * @param player    玩家
+     * @param land      领地
+     * @param ownerName 主人名称，未被认领时为 null
+     */
+    private void sendLandInfo(Player player, Land land, String ownerName) {
         player.sendMessage(i18nManager.getMessage("info.header"));
         player.sendMessage(i18nManager.getMessage("info.id", String.valueOf(land.getId())));
         if (land.getName() != null) {
             player.sendMessage(i18nManager.getMessage("info.name", land.getName()));
         }
         
-        // 获取拥有者信息
-        if (land.getOwnerId() == 0) {
+        // 显示拥有者信息
+        if (ownerName == null) {
             player.sendMessage(i18nManager.getMessage("info.unclaimed"));
         } else {
-            String ownerName = "Unknown";
-            try {
-                Optional<io.github.railgun19457.easyland.model.Player> ownerOpt = plugin.getPlayerDAO().getPlayerById(land.getOwnerId());
-                if (ownerOpt.isPresent()) {
-                    io.github.railgun19457.easyland.model.Player owner = ownerOpt.get();
-                    ownerName = owner.getName();
-                    
-                    // 尝试修复 Unknown 的名字
-                    if ("Unknown".equals(ownerName) || ownerName == null) {
-                        java.util.UUID ownerUuid = owner.getUuid();
-                        org.bukkit.OfflinePlayer offlinePlayer = plugin.getServer().getOfflinePlayer(ownerUuid);
-                        if (offlinePlayer != null && offlinePlayer.getName() != null) {
-                            ownerName = offlinePlayer.getName();
-                            // 更新数据库
-                            owner.setName(ownerName);
-                            plugin.getPlayerDAO().updatePlayer(owner);
-                        }
-                    }
-                }
-            } catch (java.sql.SQLException e) {
-                logger.warning("Error fetching owner name for land " + land.getId() + ": " + e.getMessage());
-            }
             player.sendMessage(i18nManager.getMessage("info.owner", ownerName));
         }
         
@@ -635,10 +713,8 @@ public class MainCommand implements CommandExecutor, TabCompleter {
         
         // 显示保护规则
         player.sendMessage(i18nManager.getMessage("info.rules-header"));
-        java.util.Map<io.github.railgun19457.easyland.model.LandFlag, Boolean> flagMap = land.getFlagMap();
-        
         for (io.github.railgun19457.easyland.model.LandFlag flag : io.github.railgun19457.easyland.model.LandFlag.values()) {
-            boolean enabled = flagMap.getOrDefault(flag, false);
+            boolean enabled = land.hasFlag(flag);
             String status = enabled ? i18nManager.getMessage("rule.status-allow") : i18nManager.getMessage("rule.status-deny");
             player.sendMessage(i18nManager.getMessage("info.rule-format", i18nManager.getMessage("flags." + flag.getName()), flag.getName(), status));
         }
@@ -670,35 +746,48 @@ public class MainCommand implements CommandExecutor, TabCompleter {
         Location pos2 = selectionManager.getPos2(player);
         
         // 获取可选的领地名称
-        String name = null;
         if (args.length > 1) {
-            name = args[1];
+            String name = args[1];
             if (!isValidLandName(name)) {
                 player.sendMessage(i18nManager.getMessage("general.invalid-name-format"));
                 return;
             }
             
             // 检查名称是否已存在
-            if (landManager.getLandByIdOrName(name).isPresent()) {
-                player.sendMessage(i18nManager.getMessage("create.name-exists", name));
-                return;
-            }
-        }
-        
-        // 创建领地
-        Land land = landManager.createLand(player, pos1, pos2, name);
-        
-        if (land != null) {
-            player.sendMessage(i18nManager.getMessage("create.success", String.valueOf(land.getId())));
-            // 显示领地边界
-            plugin.getLandVisualizer().showLandBoundary(player, land, 10);
-            // 清除选区
-            selectionManager.clearSelection(player);
+            whenComplete(player, landManager.getLandByIdOrNameAsync(name), existing -> {
+                if (existing.isPresent()) {
+                    player.sendMessage(i18nManager.getMessage("create.name-exists", name));
+                    return;
+                }
+                createLand(player, pos1, pos2, name);
+            });
         } else {
-            player.sendMessage(i18nManager.getMessage("create.failed"));
+            createLand(player, pos1, pos2, null);
         }
     }
     
+    /**
+     * 创建领地并在完成后显示边界、清除选区，必须在主线程中调用。
+     *
+     * @param player 玩家
+     * @param pos1   选区第一个点
+     * @param pos2   选区第二个点
+     * @param name   领地名称，可以为 null
+     */
+    private void createLand(Player player, Location pos1, Location pos2, String name) {
+        whenComplete(player, landManager.createLandAsync(player, pos1, pos2, name), land -> {
+            if (land != null) {
+                player.sendMessage(i18nManager.getMessage("create.success", String.valueOf(land.getId())));
+                // 显示领地边界
+                plugin.getLandVisualizer().showLandBoundary(player, land, 10);
+                // 清除选区
+                plugin.getSelectionManager().clearSelection(player);
+            } else {
+                player.sendMessage(i18nManager.getMessage("create.failed"));
+            }
+        });
+    }
+    
     /**
      * 处理abandon命令。
      */
@@ -712,13 +801,13 @@ public class MainCommand implements CommandExecutor, TabCompleter {
         }
         
         String landId = args[1];
-        boolean success = landManager.abandonLand(player, landId);
-        
-        if (success) {
-            player.sendMessage(i18nManager.getMessage("abandon.success"));
-        } else {
-            player.sendMessage(i18nManager.getMessage("abandon.failed"));
-        }
+        whenComplete(player, landManager.abandonLandAsync(player, landId), success -> {
+            if (success) {
+                player.sendMessage(i18nManager.getMessage("abandon.success"));
+            } else {
+                player.sendMessage(i18nManager.getMessage("abandon.failed"));
+            }
+        });
     }
     
     /**
@@ -757,36 +846,42 @@ public class MainCommand implements CommandExecutor, TabCompleter {
             return;
         }
         
-        Land land = null;
+        int showDuration = duration;
         if (targetLandName != null) {
-            Optional<Land> landOpt = landManager.getLandByIdOrName(targetLandName);
-            if (landOpt.isPresent()) {
-                land = landOpt.get();
-            } else {
-                player.sendMessage(i18nManager.getMessage("show.no-land-found"));
-                return;
-            }
-        } else {
-            // 未指定目标，尝试当前位置
-            land = landManager.getLandAt(player.getLocation());
-            
-            // 如果不在领地内，尝试最近的领地
-            if (land == null) {
-                Optional<Land> nearest = landManager.getNearestLand(player.getLocation());
-                if (nearest.isPresent()) {
-                    land = nearest.get();
-                    String landDisplayName = land.getName() != null ? land.getName() : String.valueOf(land.getId());
-                    player.sendMessage(i18nManager.getMessage("show.showing-nearest", landDisplayName));
+            whenComplete(player, landManager.getLandByIdOrNameAsync(targetLandName), landOpt -> {
+                if (landOpt.isPresent()) {
+                    showLandBoundary(player, landOpt.get(), showDuration);
+                } else {
+                    player.sendMessage(i18nManager.getMessage("show.no-land-found"));
                 }
-            }
+            });
+            return;
         }
         
-        if (land == null) {
-            player.sendMessage(i18nManager.getMessage("show.no-land-here"));
+        // 未指定目标，尝试当前位置
+        Land land = landManager.getLandAt(player.getLocation());
+        if (land != null) {
+            showLandBoundary(player, land, showDuration);
             return;
         }
         
-        // Show the land boundary
+        // 如果不在领地内，尝试最近的领地
+        whenComplete(player, landManager.getNearestLandAsync(player.getLocation()), nearest -> {
+            if (nearest.isEmpty()) {
+                player.sendMessage(i18nManager.getMessage("show.no-land-here"));
+                return;
+            }
+            Land nearestLand = nearest.get();
+            String landDisplayName = nearestLand.getName() != null ? nearestLand.getName() : String.valueOf(nearestLand.getId());
+            player.sendMessage(i18nManager.getMessage("show.showing-nearest", landDisplayName));
+            showLandBoundary(player, nearestLand, showDuration);
+        });
+    }
+    
+    /**
+     * 显示领地边界，必须在主线程中调用。
+     */
+    private void showLandBoundary(Player player, Land land, int duration) {
         plugin.getLandVisualizer().showLandBoundary(player, land, duration);
         player.sendMessage(i18nManager.getMessage("show.success", String.valueOf(duration)));
     }
@@ -800,6 +895,23 @@ public class MainCommand implements CommandExecutor, TabCompleter {
         //     return;
         // }
         
+        if (args.length < 2 || args.length > 4) {
+            player.sendMessage(i18nManager.getMessage("general.invalid-args", "/" + commandName + " rule [land] [rule] [true|false]"));
+            return;
+        }
+        
+        // 第一个参数可能是领地，先在读线程中查询，再回到主线程继续处理
+        whenComplete(player, landManager.getLandByIdOrNameAsync(args[1]), landOpt -> handleRule(player, args, landOpt));
+    }
+    
+    /**
+     * 在查询到第一个参数对应的领地后继续处理rule命令，必须在主线程中调用。
+     *
+     * @param player  玩家
+     * @param args    命令参数，长度为 2 到 4
+     * @param landOpt 第一个参数对应的领地
+     */
+    private void handleRule(Player player, String[] args, Optional<Land> landOpt) {
         String landId = null;
         String rule = null;
         String valueStr = null;
@@ -807,7 +919,6 @@ public class MainCommand implements CommandExecutor, TabCompleter {
         if (args.length == 2) {
             // rule <land> (显示该领地所有规则) 或 rule <rule> (显示当前领地该规则)
             String arg1 = args[1];
-            Optional<Land> landOpt = landManager.getLandByIdOrName(arg1);
             
             if (landOpt.isPresent()) {
                 Land land = landOpt.get();
@@ -834,7 +945,6 @@ public class MainCommand implements CommandExecutor, TabCompleter {
             String arg1 = args[1];
             String arg2 = args[2];
             
-            Optional<Land> landOpt = landManager.getLandByIdOrName(arg1);
             if (landOpt.isPresent()) {
                 if (PROTECTION_RULES.contains(arg2.toLowerCase())) {
                     Land land = landOpt.get();
@@ -858,9 +968,8 @@ public class MainCommand implements CommandExecutor, TabCompleter {
                 rule = arg1;
                 valueStr = arg2;
             }
-        } else if (args.length == 4) {
+        } else {
             // rule <land> <rule> <value>
-            Optional<Land> landOpt = landManager.getLandByIdOrName(args[1]);
             if (!landOpt.isPresent()) {
                 player.sendMessage(i18nManager.getMessage("show.no-land-found"));
                 return;
@@ -871,9 +980,6 @@ public class MainCommand implements CommandExecutor, TabCompleter {
             landId = args[1];
             rule = args[2];
             valueStr = args[3];
-        } else {
-            player.sendMessage(i18nManager.getMessage("general.invalid-args", "/" + commandName + " rule [land] [rule] [true|false]"));
-            return;
         }
         
         if (!PROTECTION_RULES.contains(rule.toLowerCase())) {
@@ -891,11 +997,14 @@ public class MainCommand implements CommandExecutor, TabCompleter {
             return;
         }
         
-        if (landManager.setLandFlag(player, landId, rule, value)) {
-            player.sendMessage(i18nManager.getMessage("rule.success", rule, String.valueOf(value)));
-        } else {
-            player.sendMessage(i18nManager.getMessage("rule.failed"));
-        }
+        String ruleName = rule;
+        whenComplete(player, landManager.setLandFlagAsync(player, landId, rule, value), success -> {
+            if (success) {
+                player.sendMessage(i18nManager.getMessage("rule.success", ruleName, String.valueOf(value)));
+            } else {
+                player.sendMessage(i18nManager.getMessage("rule.failed"));
+            }
+        });
     }
 
     /**
@@ -935,9 +1044,8 @@ public class MainCommand implements CommandExecutor, TabCompleter {
             return;
         }
 
-        java.util.Map<io.github.railgun19457.easyland.model.LandFlag, Boolean> flags = land.getFlagMap();
         // 数据库完整性检查确保了所有标志都存在
-        boolean enabled = Boolean.TRUE.equals(flags.get(flag));
+        boolean enabled = land.hasFlag(flag);
 
         String status = enabled ? i18nManager.getMessage("rule.status-allow") : i18nManager.getMessage("rule.status-deny");
         player.sendMessage(i18nManager.getMessage("rule.format", i18nManager.getMessage("flags." + flag.getName()), flag.getName(), status));
@@ -957,8 +1065,8 @@ public class MainCommand implements CommandExecutor, TabCompleter {
             return;
         }
         
-        // 重新加载配置
-        plugin.reloadConfig();
+        // 重新加载配置，ConfigManager 会重新读取所有配置值并重建查找表
+        plugin.getConfigManager().reloadConfig();
         i18nManager.reload();
         
         sender.sendMessage(i18nManager.getMessage("general.reload-success"));
@@ -989,30 +1097,23 @@ public class MainCommand implements CommandExecutor, TabCompleter {
             return;
         }
         
-        // 检查目标领地是否存在
-        Optional<Land> targetLandOpt = landManager.getLandByIdOrName(landId);
-        if (targetLandOpt.isEmpty()) {
-            player.sendMessage(i18nManager.getMessage("delete.not-found"));
-            return;
-        }
-        Land targetLand = targetLandOpt.get();
-
-        // 检查新名称是否已被其他领地使用
-        Optional<Land> existingLandOpt = landManager.getLandByIdOrName(newName);
-        if (existingLandOpt.isPresent()) {
-            if (existingLandOpt.get().getId() != targetLand.getId()) {
+        // 领地是否存在和名称是否被占用都在写线程中检查
+        whenComplete(player, landManager.renameLandAsync(player, landId, newName), success -> {
+            if (success) {
+                player.sendMessage(i18nManager.getMessage("rename.success", newName));
+            } else {
+                player.sendMessage(i18nManager.getMessage("rename.failed"));
+            }
+        }, error -> {
+            if (error instanceof LandNotFoundException) {
+                player.sendMessage(i18nManager.getMessage("delete.not-found"));
+            } else if (error instanceof LandNameExistsException) {
                 player.sendMessage(i18nManager.getMessage("create.name-exists", newName));
-                return;
+            } else {
+                logger.severe("重命名领地时数据库操作出错: " + error.getMessage());
+                player.sendMessage(i18nManager.getMessage("general.database-error"));
             }
-        }
-        
-        boolean success = landManager.renameLand(player, landId, newName);
-        
-        if (success) {
-            player.sendMessage(i18nManager.getMessage("rename.success", newName));
-        } else {
-            player.sendMessage(i18nManager.getMessage("rename.failed"));
-        }
+        });
     }
     
     /**
@@ -1028,20 +1129,10 @@ public class MainCommand implements CommandExecutor, TabCompleter {
         }
         
         String parentLandIdOrName = args[1];
-        String name = null;
-        if (args.length > 2) {
-            name = args[2];
-            if (!isValidLandName(name)) {
-                player.sendMessage(i18nManager.getMessage("general.invalid-name-format"));
-                return;
-            }
-
-            // 检查名称是否已被其他领地使用
-            Optional<Land> existingLandOpt = landManager.getLandByIdOrName(name);
-            if (existingLandOpt.isPresent()) {
-                player.sendMessage(i18nManager.getMessage("create.name-exists", name));
-                return;
-            }
+        String name = args.length > 2 ? args[2] : null;
+        if (name != null && !isValidLandName(name)) {
+            player.sendMessage(i18nManager.getMessage("general.invalid-name-format"));
+            return;
         }
         
         // 检查玩家是否有完整的选区
@@ -1061,19 +1152,47 @@ public class MainCommand implements CommandExecutor, TabCompleter {
         Location pos1 = selectionManager.getPos1(player);
         Location pos2 = selectionManager.getPos2(player);
         
-        try {
-            Land subClaim = landManager.createSubClaim(player, parentLandIdOrName, pos1, pos2, name);
-            
+        if (name == null) {
+            createSubClaim(player, parentLandIdOrName, pos1, pos2, null);
+            return;
+        }
+        
+        // 检查名称是否已被其他领地使用
+        whenComplete(player, landManager.getLandByIdOrNameAsync(name), existingLandOpt -> {
+            if (existingLandOpt.isPresent()) {
+                player.sendMessage(i18nManager.getMessage("create.name-exists", name));
+                return;
+            }
+            createSubClaim(player, parentLandIdOrName, pos1, pos2, name);
+        });
+    }
+    
+    /**
+     * 创建子领地并在完成后显示边界、清除选区，必须在主线程中调用。
+     *
+     * @param player             玩家
+     * @param parentLandIdOrName 父领地ID或名称
+     * @param pos1               选区第一个点
+     * @param pos2               选区第二个点
+     * @param name               子领地名称，可以为 null
+     */
+    private void createSubClaim(Player player, String parentLandIdOrName, Location pos1, Location pos2, String name) {
+        whenComplete(player, landManager.createSubClaimAsync(player, parentLandIdOrName, pos1, pos2, name), subClaim -> {
             if (subClaim != null) {
                 player.sendMessage(i18nManager.getMessage("subcreate.success", String.valueOf(subClaim.getId())));
                 // 显示子领地边界
                 plugin.getLandVisualizer().showLandBoundary(player, subClaim, 10);
                 // 清除选区
-                selectionManager.clearSelection(player);
+                plugin.getSelectionManager().clearSelection(player);
             }
-        } catch (SubClaimException e) {
-            player.sendMessage("§c" + e.getMessage());
-        }
+        }, error -> {
+            if (error instanceof SubClaimException) {
+                player.sendMessage("§c" + error.getMessage());
+            } else {
+                logger.severe("创建子领地时数据库操作出错: " + error.getMessage());
+                player.sendMessage(i18nManager.getMessage("general.database-error"));
+            }
+        });
     }
     
     /**
@@ -1176,11 +1295,13 @@ public class MainCommand implements CommandExecutor, TabCompleter {
         }
 
         String landName = args[1];
-        if (landManager.setLandSpawn(player, landName)) {
-            player.sendMessage(i18nManager.getMessage("setspawn.success", landName));
-        } else {
-            player.sendMessage(i18nManager.getMessage("setspawn.failed", landName));
-        }
+        whenComplete(player, landManager.setLandSpawnAsync(player, landName), success -> {
+            if (success) {
+                player.sendMessage(i18nManager.getMessage("setspawn.success", landName));
+            } else {
+                player.sendMessage(i18nManager.getMessage("setspawn.failed", landName));
+            }
+        });
     }
 
     /**
@@ -1196,11 +1317,13 @@ public class MainCommand implements CommandExecutor, TabCompleter {
         }
 
         String landName = args[1];
-        if (landManager.teleportToLand(player, landName)) {
-            player.sendMessage(i18nManager.getMessage("tp.success", landName));
-        } else {
-            player.sendMessage(i18nManager.getMessage("tp.failed", landName));
-        }
+        whenComplete(player, landManager.getLandByIdOrNameAsync(landName), landOpt -> {
+            if (landOpt.isPresent() && landManager.teleportToLand(player, landOpt.get())) {
+                player.sendMessage(i18nManager.getMessage("tp.success", landName));
+            } else {
+                player.sendMessage(i18nManager.getMessage("tp.failed", landName));
+            }
+        });
     }
 
     @Override
@@ -1418,85 +1541,65 @@ public class MainCommand implements CommandExecutor, TabCompleter {
     
     /**
      * 获取玩家拥有的领地ID和名称列表。
+     * 读取内存中的会话缓存和领地索引，不会访问数据库。
      */
     private List<String> getPlayerLandCompletions(Player player) {
         List<String> completions = new ArrayList<>();
-        try {
-            // 获取所有领地（不分页，或者获取足够多）
-            // 这里假设 listPlayerLands 支持获取所有，或者我们只获取第一页
-            // 实际上应该有一个方法获取所有领地而不分页，或者分页很大
-            // 为了简单起见，我们暂时只获取第一页，或者需要修改 LandManager 增加 getAllPlayerLands
-            // 考虑到性能，tab补全不应该查询太多数据。
-            // 暂时使用 listPlayerLands(uuid, 1) 并假设每页数量足够大，或者循环获取
-            // 但为了响应速度，只获取第一页可能是一个妥协。
-            // 更好的做法是在 LandManager 中增加 getPlayerLandNames(uuid)
-            
-            List<Land> lands = landManager.listPlayerLands(player.getUniqueId(), 1);
-            for (Land land : lands) {
-                if (land.getName() != null) {
-                    completions.add(land.getName());
-                }
+        // 玩家ID只解析一次；会话尚未加载时没有可补全的领地
+        Optional<io.github.railgun19457.easyland.model.Player> dbPlayer =
+            plugin.getPlayerSessionCache().getCachedPlayer(player.getUniqueId());
+        if (!dbPlayer.isPresent()) {
+            return completions;
+        }
+
+        int playerId = dbPlayer.get().getId();
+        for (Land land : landManager.getCachedLands()) {
+            if (land.getName() != null && land.getOwnerId() == playerId) {
+                completions.add(land.getName());
             }
-        } catch (Exception e) {
-            // 忽略错误
         }
         return completions;
     }
     
     /**
      * 获取所有领地ID和名称列表。
+     * 读取内存中的领地索引，不会访问数据库。
      */
     private List<String> getAllLandCompletions() {
         List<String> completions = new ArrayList<>();
-        try {
-            List<Land> allLands = landManager.getAllLands(); // 这个方法返回所有领地
-            for (Land land : allLands) {
-                if (land.getName() != null) {
-                    completions.add(land.getName());
-                }
+        for (Land land : landManager.getCachedLands()) {
+            if (land.getName() != null) {
+                completions.add(land.getName());
             }
-        } catch (Exception e) {
-            // 忽略错误
         }
         return completions;
     }
     
     /**
      * 获取所有无主领地（ownerId=0）的名称列表。
+     * 读取内存中的领地索引，不会访问数据库。
      */
     private List<String> getUnownedLandCompletions() {
         List<String> completions = new ArrayList<>();
-        try {
-            List<Land> allLands = landManager.getAllLands();
-            for (Land land : allLands) {
-                if (land.getOwnerId() == 0) {
-                    if (land.getName() != null && !land.getName().isEmpty()) {
-                        completions.add(land.getName());
-                    }
+        for (Land land : landManager.getCachedLands()) {
+            if (land.getOwnerId() == 0) {
+                if (land.getName() != null && !land.getName().isEmpty()) {
+                    completions.add(land.getName());
                 }
             }
-        } catch (Exception e) {
-            // 忽略错误
         }
         return completions;
     }
 
     /**
      * 根据玩家ID获取玩家名称。
+     * 优先读取玩家名称缓存，领地主人在启动时已全部加载。
      *
      * @param ownerId 玩家数据库ID
      * @return 玩家名称，如果找不到则返回 "未知"
      */
     private String getOwnerName(int ownerId) {
-        try {
-            Optional<io.github.railgun19457.easyland.model.Player> playerOpt = 
-                plugin.getPlayerDAO().getPlayerById(ownerId);
-            if (playerOpt.isPresent()) {
-                return playerOpt.get().getName();
-            }
-        } catch (Exception e) {
-            logger.warning("Failed to get owner name for ID " + ownerId + ": " + e.getMessage());
-        }
-        return i18nManager.getMessage("general.unknown");
+        String name = plugin.getPlayerNameCache().getName(ownerId);
+        return name != null ? name : i18nManager.getMessage("general.unknown");
     }
 }
@@ -1,8 +1,11 @@
 package io.github.railgun19457.easyland.core;
 
+import io.github.railgun19457.easyland.storage.DatabaseSettings;
+import org.bukkit.Material;
 import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.plugin.java.JavaPlugin;
 
+import java.util.List;
 import java.util.logging.Logger;
 
 /**
@@ -34,6 +37,15 @@ public class ConfigManager {
     private int maxSubClaimsPerLand;
     private int maxSubClaimDepth;
     
+    // 缓存相关配置
+    private int chunkCacheSize;
+    
+    // 数据库相关配置，只在启动时读取
+    private DatabaseSettings databaseSettings;
+    
+    // 交互保护相关配置 - 按 Material.ordinal() 索引的受保护方块表
+    private boolean[] protectedInteractBlocks = new boolean[0];
+    
     /**
      * 构造函数，初始化配置管理器。
      *
@@ -87,6 +99,92 @@ public class ConfigManager {
         // 加载子领地相关配置
         this.maxSubClaimsPerLand = config.getInt("sub-claim.max-per-land", 5);
         this.maxSubClaimDepth = config.getInt("sub-claim.max-depth", 2);
+        
+        // 加载缓存相关配置
+        this.chunkCacheSize = config.getInt("cache.chunk-cache-size", 8192);
+        
+        // 加载数据库相关配置
+        this.databaseSettings = loadDatabaseSettings();
+        
+        // 加载交互保护相关配置
+        this.protectedInteractBlocks = compileMaterialTable(
+            config.getStringList("protection.interact-blocks.materials"),
+            config.getStringList("protection.interact-blocks.suffixes"));
+    }
+    
+    /**
+     * 读取 database 配置节。取值会被拼接进 PRAGMA 语句，因此只接受 SQLite 支持的枚举值，
+     * 无效值回退到默认值并输出警告。
+     *
+     * @return 数据库连接设置
+     */
+    private DatabaseSettings loadDatabaseSettings() {
+        DatabaseSettings defaults = DatabaseSettings.defaults();
+        String journalMode = getPragmaValue("database.journal-mode", defaults.getJournalMode(),
+            List.of("WAL", "DELETE", "TRUNCATE", "PERSIST", "MEMORY", "OFF"));
+        String synchronous = getPragmaValue("database.synchronous", defaults.getSynchronous(),
+            List.of("OFF", "NORMAL", "FULL", "EXTRA"));
+        String tempStore = getPragmaValue("database.temp-store", defaults.getTempStore(),
+            List.of("DEFAULT", "FILE", "MEMORY"));
+        int cacheSizeKib = Math.max(0, config.getInt("database.cache-size-kb", defaults.getCacheSizeKib()));
+        long mmapSizeBytes = Math.max(0L, config.getLong("database.mmap-size-mb", defaults.getMmapSizeBytes() >> 20)) << 20;
+        int busyTimeoutMillis = Math.max(0, config.getInt("database.busy-timeout-ms", defaults.getBusyTimeoutMillis()));
+        int readerConnections = Math.max(0, config.getInt("database.reader-connections", defaults.getReaderConnections()));
+        int statementCacheSize = Math.max(0, config.getInt("database.statement-cache-size", defaults.getStatementCacheSize()));
+        return new DatabaseSettings(journalMode, synchronous, cacheSizeKib, mmapSizeBytes, tempStore,
+            busyTimeoutMillis, readerConnections, statementCacheSize);
+    }
+    
+    /**
+     * 读取一个枚举类型的 PRAGMA 配置值。
+     *
+     * @param path         配置路径
+     * @param defaultValue 默认值
+     * @param allowed      允许的取值（大写）
+     * @return 大写的配置值，无效时返回默认值
+     */
+    private String getPragmaValue(String path, String defaultValue, List<String> allowed) {
+        String value = config.getString(path, defaultValue).toUpperCase(java.util.Locale.ROOT);
+        if (!allowed.contains(value)) {
+            logger.warning("配置项 " + path + " 的值无效: " + value + "，使用默认值 " + defaultValue);
+            return defaultValue;
+        }
+        return value;
+    }
+    
+    /**
+     * 将方块类型列表和名称后缀编译为按 Material.ordinal() 索引的查找表。
+     * 名称匹配只在加载配置时进行一次，事件处理时只需一次数组读取。
+     *
+     * @param materialNames 方块类型名称列表
+     * @param suffixes      方块名称后缀列表
+     * @return 查找表
+     */
+    private boolean[] compileMaterialTable(List<String> materialNames, List<String> suffixes) {
+        Material[] materials = Material.values();
+        boolean[] table = new boolean[materials.length];
+        
+        for (String name : materialNames) {
+            Material material = Material.matchMaterial(name);
+            if (material == null) {
+                logger.warning("配置中的方块类型无效: " + name);
+                continue;
+            }
+            table[material.ordinal()] = true;
+        }
+        
+        if (!suffixes.isEmpty()) {
+            for (Material material : materials) {
+                String materialName = material.name();
+                for (String suffix : suffixes) {
+                    if (materialName.endsWith(suffix.toUpperCase(java.util.Locale.ROOT))) {
+                        table[material.ordinal()] = true;
+                        break;
+                    }
+                }
+            }
+        }
+        return table;
     }
     
     /**
@@ -211,6 +309,43 @@ public class ConfigManager {
         return maxSubClaimDepth;
     }
     
+    // 缓存相关配置的 getter 方法
+    
+    /**
+     * 获取每个世界最多缓存的区块数量。
+     *
+     * @return 区块缓存容量
+     */
+    public int getChunkCacheSize() {
+        return chunkCacheSize;
+    }
+    
+    // 数据库相关配置的 getter 方法
+    
+    /**
+     * 获取数据库连接设置。
+     * 数据库连接只在启动时打开，修改后需要重启服务器才能生效。
+     *
+     * @return 数据库连接设置
+     */
+    public DatabaseSettings getDatabaseSettings() {
+        return databaseSettings;
+    }
+    
+    // 交互保护相关配置的 getter 方法
+    
+    /**
+     * 检查方块类型是否受交互保护（容器、门、按钮等）。
+     *
+     * @param material 方块类型
+     * @return 如果该方块类型受保护返回 true，否则返回 false
+     */
+    public boolean isProtectedInteractBlock(Material material) {
+        boolean[] table = protectedInteractBlocks;
+        int ordinal = material.ordinal();
+        return ordinal < table.length && table[ordinal];
+    }
+    
     /**
      * 获取原始配置对象，用于访问未预定义的配置项。
      *
@@ -2,11 +2,11 @@ package io.github.railgun19457.easyland.core;
 
 import io.github.railgun19457.easyland.model.Land;
 import io.github.railgun19457.easyland.model.LandFlag;
-import io.github.railgun19457.easyland.storage.LandDAO;
+import io.github.railgun19457.easyland.model.LandRole;
 import org.bukkit.Location;
+import org.bukkit.block.Block;
 
-import java.sql.SQLException;
-import java.util.Optional;
+import java.util.List;
 import java.util.logging.Logger;
 
 /**
@@ -14,9 +14,23 @@ import java.util.logging.Logger;
  * 负责检查特定位置的特定标志是否被启用。
  */
 public class FlagManager {
+    // 区块内所有领地都允许该标志时使用的共享空数组
+    private static final Land[] NO_DENYING_LANDS = new Land[0];
+
+    /**
+     * 某个标志在整个区块内的判定结果。
+     */
+    public enum ChunkVerdict {
+        /** 区块内任意位置都允许（野外，或被一个允许该标志的领地完全覆盖） */
+        ALLOWED,
+        /** 区块被一个禁用该标志的领地完全覆盖 */
+        DENIED,
+        /** 区块内情况不一，需要按坐标检查 */
+        MIXED
+    }
+
     private final Logger logger;
     private final LandManager landManager;
-    private final LandDAO landDAO;
     private final ConfigManager configManager;
     private final LandCache landCache;
     private PermissionManager permissionManager;
@@ -26,14 +40,12 @@ public class FlagManager {
      *
      * @param logger      插件日志记录器
      * @param landManager 领地管理器
-     * @param landDAO     领地数据访问对象
      * @param configManager 配置管理器
      * @param landCache   领地缓存管理器
      */
-    public FlagManager(Logger logger, LandManager landManager, LandDAO landDAO, ConfigManager configManager, LandCache landCache) {
+    public FlagManager(Logger logger, LandManager landManager, ConfigManager configManager, LandCache landCache) {
         this.logger = logger;
         this.landManager = landManager;
-        this.landDAO = landDAO;
         this.configManager = configManager;
         this.landCache = landCache;
     }
@@ -65,47 +77,194 @@ public class FlagManager {
      * @return 如果标志被启用返回 true，否则返回 false
      */
     public boolean isFlagEnabled(Location location, LandFlag flag) {
-        try {
-            // 首先检查服务器级保护规则是否启用
-            if (!isProtectionRuleEnabled(flag)) {
-                // 如果服务器级保护规则被禁用，则允许所有操作
-                return true;
-            }
-            
-            // 获取该位置的领地
-            Land land;
-            if (landCache != null) {
-                // 使用缓存获取领地
-                land = landCache.getLandAt(location);
-            } else {
-                // 回退到使用 LandManager
-                land = landManager.getLandAt(location);
+        if (location.getWorld() == null) {
+            return true;
+        }
+        return isFlagEnabled(location.getWorld().getName(), location.getBlockX(), location.getBlockZ(), flag);
+    }
+
+    /**
+     * 检查特定坐标的特定标志是否被启用。
+     * 监听器应直接传入方块坐标，避免为每个方块创建 Location 对象。
+     *
+     * @param worldName 世界名称
+     * @param x         方块 X 坐标
+     * @param z         方块 Z 坐标
+     * @param flag      要检查的标志
+     * @return 如果标志被启用返回 true，否则返回 false
+     */
+    public boolean isFlagEnabled(String worldName, int x, int z, LandFlag flag) {
+        // 首先检查服务器级保护规则是否启用
+        if (!isProtectionRuleEnabled(flag)) {
+            // 如果服务器级保护规则被禁用，则允许所有操作
+            return true;
+        }
+        
+        // 获取该位置的领地
+        Land land;
+        if (landCache != null) {
+            // 使用缓存获取领地
+            land = landCache.getLandAt(worldName, x, z);
+        } else {
+            // 回退到使用 LandManager
+            land = landManager.getLandAt(worldName, x, z);
+        }
+        
+        if (land == null) {
+            // 如果没有领地，则默认允许所有操作
+            return true;
+        }
+
+        return isFlagEnabled(land, flag);
+    }
+
+    /**
+     * 检查领地的特定标志是否被启用。
+     * 直接读取缓存中的领地对象，领地修改后缓存会重新加载该对象，因此无需访问数据库。
+     *
+     * @param land 要检查的领地
+     * @param flag 要检查的标志
+     * @return 如果标志被启用返回 true，否则返回 false
+     */
+    private boolean isFlagEnabled(Land land, LandFlag flag) {
+        // 标志以位掩码形式存储，检查时不会装箱或分配对象
+        return land.hasFlag(flag);
+    }
+
+    /**
+     * 从方块列表中移除位于禁用该标志的领地内的方块，用于爆炸等一次影响大量方块的事件。
+     * 先用所有方块的包围盒查询空间索引，范围内没有领地时直接返回；
+     * 否则按区块分组，每个区块只查询一次候选领地，区块内的领地都允许该标志时跳过逐方块检查。
+     *
+     * @param worldName 世界名称
+     * @param blocks    受影响的方块列表，会被原地修改
+     * @param flag      要检查的标志
+     */
+    public void removeProtectedBlocks(String worldName, List<Block> blocks, LandFlag flag) {
+        if (blocks.isEmpty() || !isProtectionRuleEnabled(flag)) {
+            return;
+        }
+        if (landCache == null) {
+            blocks.removeIf(block -> !isFlagEnabled(worldName, block.getX(), block.getZ(), flag));
+            return;
+        }
+
+        // 计算包围盒，与任何领地都不相交时无需继续
+        int minX = Integer.MAX_VALUE;
+        int minZ = Integer.MAX_VALUE;
+        int maxX = Integer.MIN_VALUE;
+        int maxZ = Integer.MIN_VALUE;
+        for (Block block : blocks) {
+            minX = Math.min(minX, block.getX());
+            minZ = Math.min(minZ, block.getZ());
+            maxX = Math.max(maxX, block.getX());
+            maxZ = Math.max(maxZ, block.getZ());
+        }
+        if (!landCache.hasLandInArea(worldName, minX, minZ, maxX, maxZ)) {
+            return;
+        }
+
+        // 格式: 区块键 -> 该区块的候选领地（没有领地禁用该标志时为空数组）
+        LongHashTable<Land[]> landsByChunk = new LongHashTable<>();
+        blocks.removeIf(block -> {
+            int x = block.getX();
+            int z = block.getZ();
+            long key = LongHashTable.chunkKey(x >> 4, z >> 4);
+            Land[] lands = landsByChunk.get(key);
+            if (lands == null) {
+                lands = getLandsDenyingFlag(worldName, x >> 4, z >> 4, flag);
+                landsByChunk.put(key, lands);
             }
-            
-            if (land == null) {
-                // 如果没有领地，则默认允许所有操作
-                return true;
+
+            // 候选领地已按优先级排序，第一个包含该方块的领地决定结果
+            for (Land land : lands) {
+                if (land.contains(x, z)) {
+                    return !land.hasFlag(flag);
+                }
             }
+            return false;
+        });
+    }
 
-            // 获取领地的完整信息，包括标志
-            Optional<Land> fullLandOpt = landDAO.getLandById(land.getId());
-            if (!fullLandOpt.isPresent()) {
-                logger.warning("无法获取领地 " + land.getId() + " 的完整信息");
-                return true;
+    /**
+     * 获取区块内按优先级排序的候选领地；如果其中没有任何领地禁用该标志，则返回空数组。
+     */
+    private Land[] getLandsDenyingFlag(String worldName, int chunkX, int chunkZ, LandFlag flag) {
+        Land[] lands = landCache.getLandsInChunk(worldName, chunkX, chunkZ);
+        for (Land land : lands) {
+            if (!land.hasFlag(flag)) {
+                return lands;
             }
+        }
+        return NO_DENYING_LANDS;
+    }
 
-            Land fullLand = fullLandOpt.get();
-            java.util.Map<LandFlag, Boolean> flags = fullLand.getFlagMap();
+    /**
+     * 获取标志在整个区块内的判定结果，用于生物生成等高频且只需区块级结论的检查。
+     * 每个区块的覆盖情况（野外、被一个领地完全覆盖或混合）保存在 {@link LandCache} 的区块表中，
+     * 标志本身在每次检查时从领地读取。
+     *
+     * @param worldName 世界名称
+     * @param chunkX    区块 X 坐标
+     * @param chunkZ    区块 Z 坐标
+     * @param flag      要检查的标志
+     * @return 区块级判定结果，MIXED 表示需要调用 {@link #isFlagEnabled(String, int, int, LandFlag)} 逐个坐标检查
+     */
+    public ChunkVerdict getChunkVerdict(String worldName, int chunkX, int chunkZ, LandFlag flag) {
+        if (!isProtectionRuleEnabled(flag)) {
+            return ChunkVerdict.ALLOWED;
+        }
+        if (landCache == null) {
+            return ChunkVerdict.MIXED;
+        }
+
+        Land covering = landCache.getChunkCoverage(worldName, chunkX, chunkZ);
+        if (covering == LandCache.WILD_CHUNK) {
+            return ChunkVerdict.ALLOWED;
+        }
+        if (covering == LandCache.MIXED_CHUNK) {
+            return ChunkVerdict.MIXED;
+        }
+        return covering.hasFlag(flag) ? ChunkVerdict.ALLOWED : ChunkVerdict.DENIED;
+    }
 
-            // 检查标志是否被启用
-            // 数据库完整性检查确保了所有标志都存在
-            return Boolean.TRUE.equals(flags.get(flag));
+    /**
+     * 检查从一个方块影响另一个方块（液体流动、活塞推拉、发射器投放、方块蔓延等）是否被允许。
+     * 只有目标方块位于领地内、来源方块不在同一个领地内且目标领地禁用了该标志时才会阻止。
+     * 两个方块在同一个区块内且该区块是野外或被一个领地完全覆盖时直接放行，无需查询领地。
+     *
+     * @param worldName 世界名称
+     * @param fromX     来源方块 X 坐标
+     * @param fromZ     来源方块 Z 坐标
+     * @param toX       目标方块 X 坐标
+     * @param toZ       目标方块 Z 坐标
+     * @param flag      要检查的标志
+     * @return 如果允许返回 true，否则返回 false
+     */
+    public boolean canCrossBoundary(String worldName, int fromX, int fromZ, int toX, int toZ, LandFlag flag) {
+        if (!isProtectionRuleEnabled(flag)) {
+            return true;
+        }
 
-        } catch (SQLException e) {
-            logger.severe("检查标志时出错: " + e.getMessage());
-            // 出错时默认允许操作，以避免意外阻止玩家
+        // 同一区块且区块内只有一个结果（野外或完全覆盖），两个方块必然属于同一个领地
+        int chunkX = toX >> 4;
+        int chunkZ = toZ >> 4;
+        if (landCache != null && chunkX == fromX >> 4 && chunkZ == fromZ >> 4
+                && landCache.getChunkCoverage(worldName, chunkX, chunkZ) != LandCache.MIXED_CHUNK) {
             return true;
         }
+
+        Land toLand = landCache != null
+            ? landCache.getLandAt(worldName, toX, toZ)
+            : landManager.getLandAt(worldName, toX, toZ);
+        if (toLand == null || toLand.hasFlag(flag)) {
+            return true;
+        }
+
+        Land fromLand = landCache != null
+            ? landCache.getLandAt(worldName, fromX, fromZ)
+            : landManager.getLandAt(worldName, fromX, fromZ);
+        return fromLand != null && fromLand.getId() == toLand.getId();
     }
 
     /**
@@ -117,47 +276,79 @@ public class FlagManager {
      * @return 如果玩家有权限返回 true，否则返回 false
      */
     public boolean hasPermission(org.bukkit.entity.Player player, Location location, LandFlag flag) {
-        try {
-            // 管理员可以绕过所有保护
-            if (permissionManager != null && permissionManager.isAdmin(player)) {
-                return true;
-            }
-            
-            // 首先检查服务器级保护规则是否启用
-            if (!isProtectionRuleEnabled(flag)) {
-                // 如果服务器级保护规则被禁用，则允许所有操作
-                return true;
-            }
-            
-            // 获取该位置的领地
-            Land land;
-            if (landCache != null) {
-                // 使用缓存获取领地
-                land = landCache.getLandAt(location);
-            } else {
-                // 回退到使用 LandManager
-                land = landManager.getLandAt(location);
-            }
-            
-            if (land == null) {
-                // 如果没有领地，则允许所有操作
-                return true;
-            }
+        if (location.getWorld() == null) {
+            return true;
+        }
+        return hasPermission(player, location.getWorld().getName(), location.getBlockX(), location.getBlockZ(), flag);
+    }
 
-            // 检查玩家是否是领地所有者或受信任的玩家
-            if (landManager.hasPermission(player, land, flag.getName())) {
-                return true;
-            }
+    /**
+     * 检查玩家是否有权限在特定坐标执行特定操作。
+     *
+     * @param player    要检查的玩家
+     * @param worldName 世界名称
+     * @param x         方块 X 坐标
+     * @param z         方块 Z 坐标
+     * @param flag      要检查的标志
+     * @return 如果玩家有权限返回 true，否则返回 false
+     */
+    public boolean hasPermission(org.bukkit.entity.Player player, String worldName, int x, int z, LandFlag flag) {
+        // 管理员可以绕过所有保护
+        if (permissionManager != null && permissionManager.isAdmin(player)) {
+            return true;
+        }
+        
+        // 首先检查服务器级保护规则是否启用
+        if (!isProtectionRuleEnabled(flag)) {
+            // 如果服务器级保护规则被禁用，则允许所有操作
+            return true;
+        }
+        
+        // 获取该位置的领地
+        Land land;
+        if (landCache != null) {
+            // 使用缓存获取领地
+            land = landCache.getLandAt(worldName, x, z);
+        } else {
+            // 回退到使用 LandManager
+            land = landManager.getLandAt(worldName, x, z);
+        }
+        
+        if (land == null) {
+            // 如果没有领地，则允许所有操作
+            return true;
+        }
 
-            // 如果玩家没有权限，则检查标志是否允许该操作
-            return isFlagEnabled(location, flag);
+        // 确定玩家角色后直接查领地预编译的决策表
+        return isAllowed(player, land, flag);
+    }
 
-        } catch (Exception e) {
-            logger.severe("检查玩家权限时出错: " + e.getMessage());
-            // 出错时默认允许操作，以避免意外阻止玩家
+    /**
+     * 检查玩家是否有权限在已知的领地内执行特定操作。
+     * 供已经确定了领地的调用方使用（例如移动跟踪），避免重复查询空间索引。
+     *
+     * @param player 要检查的玩家
+     * @param land   玩家所在的领地，为 null 表示野外
+     * @param flag   要检查的标志
+     * @return 如果玩家有权限返回 true，否则返回 false
+     */
+    public boolean hasPermission(org.bukkit.entity.Player player, Land land, LandFlag flag) {
+        if (land == null || !isProtectionRuleEnabled(flag)) {
             return true;
         }
+        if (permissionManager != null && permissionManager.isAdmin(player)) {
+            return true;
+        }
+        return isAllowed(player, land, flag);
     }
-    
 
-}
\ No newline at end of file
+    /**
+     * 确定玩家在领地上的角色并读取决策表。
+     */
+    private boolean isAllowed(org.bukkit.entity.Player player, Land land, LandFlag flag) {
+        LandRole role = permissionManager != null
+            ? permissionManager.getLandRole(player, land)
+            : LandRole.VISITOR;
+        return land.isAllowed(role, flag);
+    }
+}
@@ -3,304 +3,347 @@ package io.github.railgun19457.easyland.core;
 import io.github.railgun19457.easyland.model.Land;
 import io.github.railgun19457.easyland.storage.LandDAO;
 import org.bukkit.Location;
+import org.bukkit.World;
 
 import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Logger;
 
 /**
  * 领地缓存管理器。
- * 提供基于区块的领地缓存，以减少数据库查询次数，提高性能。
+ * 启动时将所有领地加载到内存中，为每个世界维护一棵 R 树空间索引，
+ * 使坐标查询无需访问数据库。领地的创建、删除和修改由 LandManager 同步到索引中。
+ * 索引本身是不可变的 {@link LandSnapshot}：每次变更都派生出共享未变化节点的新版本，
+ * 并通过单个 volatile 引用发布，版本号随之递增。区块表是由当前版本派生的缓存，
+ * 与版本的发布在同一把锁内失效，因此不会返回基于旧版本加载的候选领地。
  */
 public class LandCache {
+    /** {@link #getChunkCoverage} 返回的标记：区块内没有任何领地 */
+    public static final Land WILD_CHUNK = new Land();
+    /** {@link #getChunkCoverage} 返回的标记：区块内有多个领地或被部分覆盖 */
+    public static final Land MIXED_CHUNK = new Land();
+
+    // 区块内没有任何领地时使用的共享空数组
+    private static final int[] NO_LANDS = new int[0];
+
     private final Logger logger;
     private final LandDAO landDAO;
-    
-    // 使用区块坐标作为键的缓存映射
-    // 格式: worldName:chunkX:chunkZ -> List<Land>
-    private final Map<String, List<Land>> chunkCache;
-    
-    // 领地ID到领地对象的缓存，用于快速获取完整领地信息
-    private final Map<Integer, Land> landCache;
-    
-    // 缓存大小限制
-    private static final int MAX_CHUNK_CACHE_SIZE = 1000;
-    private static final int MAX_LAND_CACHE_SIZE = 2000;
-    
+    private final ConfigManager configManager;
+
+    // 当前发布的索引版本，唯一的数据来源，可以在任意线程中无锁读取
+    private volatile LandSnapshot snapshot = LandSnapshot.EMPTY;
+
+    // 每个世界的区块缓存，值按优先级排序（最具体的领地在前），没有领地的区块映射到 {@link #NO_LANDS}
+    // 格式: worldName -> LandChunkTable
+    private final Map<String, LandChunkTable> chunkTables;
+
     /**
      * LandCache 构造函数。
      *
-     * @param logger  插件日志记录器
-     * @param landDAO 领地数据访问对象
+     * @param logger        插件日志记录器
+     * @param landDAO       领地数据访问对象
+     * @param configManager 配置管理器，用于读取区块缓存容量
      */
-    public LandCache(Logger logger, LandDAO landDAO) {
+    public LandCache(Logger logger, LandDAO landDAO, ConfigManager configManager) {
         this.logger = logger;
         this.landDAO = landDAO;
-        this.chunkCache = new ConcurrentHashMap<>();
-        this.landCache = new ConcurrentHashMap<>();
+        this.configManager = configManager;
+        this.chunkTables = new HashMap<>();
+    }
+
+    /**
+     * 从数据库加载所有领地并重建空间索引。
+     * 在插件启动和数据迁移完成后调用。
+     */
+    public synchronized void loadAll() {
+        try {
+            List<Land> lands = landDAO.getAllLands();
+
+            // 按世界分组后批量构建 R 树
+            LandSnapshot loaded = LandSnapshot.build(snapshot.getVersion() + 1, lands);
+            chunkTables.clear();
+            snapshot = loaded;
+
+            logger.info("已加载 " + lands.size() + " 个领地到空间索引（" + loaded.getWorldCount() + " 个世界）");
+        } catch (SQLException e) {
+            logger.severe("加载领地空间索引时出错: " + e.getMessage());
+        }
     }
-    
+
     /**
      * 获取指定位置的领地。
-     * 首先检查缓存，如果未命中则从数据库加载。
+     * 完全基于内存中的索引，不会访问数据库。
      *
      * @param location 要检查的位置
      * @return 该位置的领地，如果没有领地则返回 null
      */
     public Land getLandAt(Location location) {
-        try {
-            // 获取区块坐标
-            String chunkKey = getChunkKey(location);
-            
-            // 检查区块缓存
-            List<Land> landsInChunk = chunkCache.get(chunkKey);
-            if (landsInChunk != null) {
-                // 在缓存的领地中查找包含该位置的领地
-                for (Land land : landsInChunk) {
-                    if (land.contains(location.getBlockX(), location.getBlockZ())) {
-                        // 确保返回的是完整的领地信息
-                        return getCompleteLand(land);
-                    }
-                }
-                // 如果区块已缓存但没有找到领地，说明该位置确实没有领地
-                return null;
-            }
-            
-            // 缓存未命中，从数据库加载该区块的领地
-            return loadLandsForChunk(location);
-            
-        } catch (Exception e) {
-            logger.severe("获取领地时出错: " + e.getMessage());
+        World world = location.getWorld();
+        if (world == null) {
             return null;
         }
+        return getLandAt(world.getName(), location.getBlockX(), location.getBlockZ());
     }
-    
+
     /**
-     * 获取完整的领地信息，包括标志和信任玩家。
-     * 如果缓存中的领地信息不完整，则从数据库加载完整信息。
+     * 获取指定世界坐标处的领地。
+     * 区块表命中时整个查询过程不分配任何对象。
      *
-     * @param land 可能不完整的领地对象
-     * @return 完整的领地对象
+     * @param worldName 世界名称
+     * @param x         方块 X 坐标
+     * @param z         方块 Z 坐标
+     * @return 该位置的领地，如果没有领地则返回 null
      */
-    private Land getCompleteLand(Land land) {
-        // 检查是否已经有完整信息
-        if (land.getFlags() != null && land.getTrustedPlayers() != null) {
-            return land;
-        }
-        
-        // 从缓存中获取完整信息
-        Land cachedLand = landCache.get(land.getId());
-        if (cachedLand != null && cachedLand.getFlags() != null && cachedLand.getTrustedPlayers() != null) {
-            return cachedLand;
+    public synchronized Land getLandAt(String worldName, int x, int z) {
+        LandSnapshot current = snapshot;
+        LandRTree tree = current.getTree(worldName);
+        if (tree == null) {
+            return null;
         }
-        
-        // 从数据库加载完整信息
-        try {
-            Optional<Land> fullLandOpt = landDAO.getLandById(land.getId());
-            if (fullLandOpt.isPresent()) {
-                Land fullLand = fullLandOpt.get();
-                // 更新缓存
-                landCache.put(land.getId(), fullLand);
-                
-                // 检查缓存大小，必要时清理
-                if (landCache.size() > MAX_LAND_CACHE_SIZE) {
-                    cleanupLandCache();
-                }
-                
-                return fullLand;
+
+        // 候选领地已按优先级排序，第一个包含该坐标的即为结果
+        for (int landId : getChunk(worldName, tree, x >> 4, z >> 4).landIds) {
+            Land land = current.getLandById(landId);
+            if (land != null && land.contains(x, z)) {
+                return land;
             }
-        } catch (SQLException e) {
-            logger.warning("无法获取领地 " + land.getId() + " 的完整信息: " + e.getMessage());
         }
-        
-        // 如果无法获取完整信息，返回基本领地对象
-        return land;
+        return null;
     }
-    
+
     /**
-     * 从数据库加载指定区块的领地数据。
+     * 获取当前发布的索引版本。
+     * 返回的快照可以在任意线程中无锁读取，不会访问数据库。
      *
-     * @param location 区块内的位置
-     * @return 该位置的领地，如果没有领地则返回 null
+     * @return 当前快照
      */
-    private Land loadLandsForChunk(Location location) {
-        try {
-            // 计算区块范围
-            int chunkX = location.getBlockX() >> 4; // 除以16
-            int chunkZ = location.getBlockZ() >> 4;
-            int minX = chunkX * 16;
-            int minZ = chunkZ * 16;
-            int maxX = minX + 15;
-            int maxZ = minZ + 15;
-            
-            // 从数据库获取该区块范围内的所有领地
-            List<Land> landsInChunk = landDAO.getOverlappingLands(
-                location.getWorld().getName(), minX, minZ, maxX, maxZ);
-            
-            // 排序：面积小的优先（通常是子领地），如果面积相同，有父领地的优先
-            landsInChunk.sort((l1, l2) -> {
-                int area1 = l1.getArea();
-                int area2 = l2.getArea();
-                if (area1 != area2) {
-                    return Integer.compare(area1, area2);
-                }
-                // 面积相同，优先子领地
-                boolean isSub1 = l1.getParentLandId() != null;
-                boolean isSub2 = l2.getParentLandId() != null;
-                if (isSub1 && !isSub2) return -1;
-                if (!isSub1 && isSub2) return 1;
-                return 0;
-            });
-            
-            // 缓存结果
-            String chunkKey = getChunkKey(location);
-            chunkCache.put(chunkKey, landsInChunk);
-            
-            // 检查缓存大小，必要时清理
-            if (chunkCache.size() > MAX_CHUNK_CACHE_SIZE) {
-                cleanupChunkCache();
-            }
-            
-            // 在加载的领地中查找包含该位置的领地
-            for (Land land : landsInChunk) {
-                if (land.contains(location.getBlockX(), location.getBlockZ())) {
-                    return getCompleteLand(land);
-                }
-            }
-            
-            // 该位置没有领地
-            return null;
-            
-        } catch (SQLException e) {
-            logger.severe("加载区块领地时出错: " + e.getMessage());
-            return null;
-        }
+    public LandSnapshot getSnapshot() {
+        return snapshot;
     }
-    
+
     /**
-     * 使指定位置的缓存失效。
-     * 当领地被创建、删除或修改时调用此方法。
+     * 获取索引的版本号。领地被添加、移除或替换后版本号会变化。
      *
-     * @param location 需要失效缓存的位置
+     * @return 当前版本号
      */
-    public void invalidateCacheAt(Location location) {
-        String chunkKey = getChunkKey(location);
-        chunkCache.remove(chunkKey);
+    public long getVersion() {
+        return snapshot.getVersion();
     }
-    
+
     /**
-     * 使指定领地的缓存失效。
-     * 当领地被修改时调用此方法。
+     * 检查指定区域内是否存在任何领地。
+     * 用于爆炸等批量操作的快速路径：区域内没有领地时无需逐个方块检查。
+     * 直接读取当前快照，不需要加锁。
      *
-     * @param landId 需要失效缓存的领地ID
+     * @param worldName 世界名称
+     * @param minX      区域最小 X 坐标
+     * @param minZ      区域最小 Z 坐标
+     * @param maxX      区域最大 X 坐标
+     * @param maxZ      区域最大 Z 坐标
+     * @return 如果区域与任何领地重叠返回 true，否则返回 false
      */
-    public void invalidateLandCache(int landId) {
-        landCache.remove(landId);
-        
-        // 由于不知道领地具体位置，需要清理所有区块缓存
-        // 在实际应用中，可以考虑优化这一点
-        chunkCache.clear();
+    public boolean hasLandInArea(String worldName, int minX, int minZ, int maxX, int maxZ) {
+        LandRTree tree = snapshot.getTree(worldName);
+        return tree != null && tree.intersectsAny(minX, minZ, maxX, maxZ);
     }
-    
+
     /**
-     * 使指定区域的缓存失效。
-     * 当领地被创建或删除时调用此方法。
+     * 获取与指定区块重叠的所有领地，按优先级排序（最具体的领地在前）。
+     * 对区块内的任意坐标，第一个包含该坐标的领地即为 {@link #getLandAt(String, int, int)} 的结果。
      *
-     * @param world 世界名称
-     * @param x1    区域第一个X坐标
-     * @param z1    区域第一个Z坐标
-     * @param x2    区域第二个X坐标
-     * @param z2    区域第二个Z坐标
+     * @param worldName 世界名称
+     * @param chunkX    区块 X 坐标
+     * @param chunkZ    区块 Z 坐标
+     * @return 按优先级排序的领地数组，没有领地时返回空数组
      */
-    public void invalidateCacheInArea(String world, int x1, int z1, int x2, int z2) {
-        // 计算区域覆盖的所有区块
-        int minChunkX = Math.min(x1, x2) >> 4;
-        int maxChunkX = Math.max(x1, x2) >> 4;
-        int minChunkZ = Math.min(z1, z2) >> 4;
-        int maxChunkZ = Math.max(z1, z2) >> 4;
-        
-        // 清理这些区块的缓存
-        for (int chunkX = minChunkX; chunkX <= maxChunkX; chunkX++) {
-            for (int chunkZ = minChunkZ; chunkZ <= maxChunkZ; chunkZ++) {
-                String chunkKey = world + ":" + chunkX + ":" + chunkZ;
-                chunkCache.remove(chunkKey);
+    public synchronized Land[] getLandsInChunk(String worldName, int chunkX, int chunkZ) {
+        LandSnapshot current = snapshot;
+        LandRTree tree = current.getTree(worldName);
+        if (tree == null) {
+            return new Land[0];
+        }
+
+        int[] landIds = getChunk(worldName, tree, chunkX, chunkZ).landIds;
+        Land[] lands = new Land[landIds.length];
+        int count = 0;
+        for (int landId : landIds) {
+            Land land = current.getLandById(landId);
+            if (land != null) {
+                lands[count++] = land;
             }
         }
+        return count == lands.length ? lands : Arrays.copyOf(lands, count);
     }
-    
+
     /**
-     * 通用缓存清理方法。
-     * 移除指定缓存的一半条目。
+     * 获取区块的覆盖情况，用于只需区块级结论的高频检查。
+     * 覆盖情况与候选领地一起保存在区块表中，共享其容量上限、淘汰和失效，
+     * 只在领地的坐标变化时失效，修改标志、信任关系或名称不会使其失效。
      *
-     * @param cache     要清理的缓存映射
-     * @param cacheName 缓存名称（用于日志记录）
-     * @param <K>       键类型
-     * @param <V>       值类型
+     * @param worldName 世界名称
+     * @param chunkX    区块 X 坐标
+     * @param chunkZ    区块 Z 坐标
+     * @return 完全覆盖该区块的领地、{@link #WILD_CHUNK} 或 {@link #MIXED_CHUNK}
+     */
+    public synchronized Land getChunkCoverage(String worldName, int chunkX, int chunkZ) {
+        LandSnapshot current = snapshot;
+        LandRTree tree = current.getTree(worldName);
+        if (tree == null) {
+            return WILD_CHUNK;
+        }
+
+        LandChunkTable.Entry entry = getChunk(worldName, tree, chunkX, chunkZ);
+        if (entry.landIds.length == 0) {
+            return WILD_CHUNK;
+        }
+        Land covering = entry.covered ? current.getLandById(entry.landIds[0]) : null;
+        return covering != null ? covering : MIXED_CHUNK;
+    }
+
+    /**
+     * 从区块表获取区块的缓存条目，未命中时从 R 树加载，必须在持有锁时调用。
      */
-    private <K, V> void cleanupCache(Map<K, V> cache, String cacheName) {
-        int toRemove = cache.size() / 2;
-        cache.keySet().stream().limit(toRemove).forEach(cache::remove);
-        logger.info("清理了 " + toRemove + " 个" + cacheName + "条目");
+    private LandChunkTable.Entry getChunk(String worldName, LandRTree tree, int chunkX, int chunkZ) {
+        LandChunkTable chunks = chunkTables.computeIfAbsent(worldName, k -> new LandChunkTable());
+        long key = LongHashTable.chunkKey(chunkX, chunkZ);
+        LandChunkTable.Entry entry = chunks.get(key);
+        if (entry == null) {
+            entry = loadChunk(key, tree, chunkX, chunkZ);
+            chunks.put(entry, configManager.getChunkCacheSize());
+        }
+        return entry;
     }
-    
+
     /**
-     * 清理区块缓存，移除最旧的条目。
+     * 从 R 树中查询与区块重叠的所有领地，按优先级排序后记录其ID。
+     * 只有当优先级最高的领地完全覆盖区块时，区块内每个坐标的结果才都是它。
      */
-    private void cleanupChunkCache() {
-        cleanupCache(chunkCache, "区块缓存");
+    private LandChunkTable.Entry loadChunk(long key, LandRTree tree, int chunkX, int chunkZ) {
+        int minX = chunkX << 4;
+        int minZ = chunkZ << 4;
+        List<Land> lands = tree.findOverlapping(minX, minZ, minX + 15, minZ + 15);
+        if (lands.isEmpty()) {
+            return new LandChunkTable.Entry(key, NO_LANDS, false);
+        }
+
+        lands.sort((a, b) -> LandRTree.isPreferred(a, b) ? -1 : LandRTree.isPreferred(b, a) ? 1 : 0);
+        int[] landIds = new int[lands.size()];
+        for (int i = 0; i < landIds.length; i++) {
+            landIds[i] = lands.get(i).getId();
+        }
+
+        Land first = lands.get(0);
+        boolean covered = first.getX1() <= minX && first.getX2() >= minX + 15
+            && first.getZ1() <= minZ && first.getZ2() >= minZ + 15;
+        return new LandChunkTable.Entry(key, landIds, covered);
     }
-    
+
     /**
-     * 清理领地缓存，移除最旧的条目。
+     * 将新创建的领地加入空间索引。
+     *
+     * @param land 新创建的领地
      */
-    private void cleanupLandCache() {
-        cleanupCache(landCache, "领地缓存");
+    public synchronized void addLand(Land land) {
+        putLand(land);
     }
-    
+
     /**
-     * 清空所有缓存。
+     * 将已删除的领地从空间索引中移除。
+     *
+     * @param landId 被删除的领地ID
      */
-    public void clearAllCache() {
-        chunkCache.clear();
-        landCache.clear();
-        logger.info("已清空所有领地缓存");
+    public synchronized void removeLand(int landId) {
+        Land previous = snapshot.getLandById(landId);
+        snapshot = snapshot.withoutLand(landId);
+        if (previous != null) {
+            invalidateChunks(previous);
+        }
     }
-    
+
     /**
-     * 获取缓存统计信息。
+     * 使指定领地的缓存失效。
+     * 当领地被修改时调用此方法，从数据库重新加载该领地并替换索引中的对象。
      *
-     * @return 包含缓存统计信息的字符串
+     * @param landId 需要失效缓存的领地ID
+     */
+    public void invalidateLandCache(int landId) {
+        Optional<Land> landOpt;
+        try {
+            landOpt = landDAO.getLandById(landId);
+        } catch (SQLException e) {
+            logger.warning("无法刷新领地 " + landId + " 的缓存: " + e.getMessage());
+            return;
+        }
+
+        synchronized (this) {
+            if (landOpt.isEmpty()) {
+                removeLand(landId);
+            } else {
+                putLand(landOpt.get());
+            }
+        }
+    }
+
+    /**
+     * 发布加入或替换领地后的新版本，并清除受影响的已缓存区块，必须在持有锁时调用。
+     *
+     * @param land 新的领地对象
      */
-    public String getCacheStats() {
-        return "区块缓存: " + chunkCache.size() + "/" + MAX_CHUNK_CACHE_SIZE + 
-               ", 领地缓存: " + landCache.size() + "/" + MAX_LAND_CACHE_SIZE;
+    private void putLand(Land land) {
+        Land previous = snapshot.getLandById(land.getId());
+        snapshot = snapshot.withLand(land);
+
+        // 坐标未变化时区块表中的ID仍然有效
+        if (previous != null && LandSnapshot.hasSameGeometry(previous, land)) {
+            return;
+        }
+        if (previous != null) {
+            invalidateChunks(previous);
+        }
+        LandChunkTable chunks = chunkTables.get(land.getWorld());
+        if (chunks != null) {
+            chunks.invalidateArea(land.getX1() >> 4, land.getZ1() >> 4, land.getX2() >> 4, land.getZ2() >> 4);
+        }
     }
-    
+
     /**
-     * 根据位置生成区块键。
+     * 清除包含指定领地的已缓存区块。
      *
-     * @param location 位置
-     * @return 区块键
+     * @param land 被移除或移动的领地
      */
-    private String getChunkKey(Location location) {
-        int chunkX = location.getBlockX() >> 4;
-        int chunkZ = location.getBlockZ() >> 4;
-        return location.getWorld().getName() + ":" + chunkX + ":" + chunkZ;
+    private void invalidateChunks(Land land) {
+        LandChunkTable chunks = chunkTables.get(land.getWorld());
+        if (chunks != null) {
+            chunks.invalidateLand(land.getId());
+        }
     }
-    
+
     /**
-     * 生成区块键。
+     * 获取缓存统计信息。
      *
-     * @param world 世界名称
-     * @param chunkX 区块X坐标
-     * @param chunkZ 区块Z坐标
-     * @return 区块键
+     * @return 包含缓存统计信息的字符串
      */
-    @SuppressWarnings("unused")
-    private String getChunkKey(String world, int chunkX, int chunkZ) {
-        return world + ":" + chunkX + ":" + chunkZ;
+    public synchronized String getCacheStats() {
+        int chunkCount = 0;
+        long hits = 0;
+        long misses = 0;
+        long evictions = 0;
+        for (LandChunkTable chunks : chunkTables.values()) {
+            chunkCount += chunks.size();
+            hits += chunks.getHits();
+            misses += chunks.getMisses();
+            evictions += chunks.getEvictions();
+        }
+
+        long lookups = hits + misses;
+        String hitRate = lookups > 0 ? String.format("%.1f%%", hits * 100.0 / lookups) : "-";
+        LandSnapshot current = snapshot;
+        return "领地索引: " + current.size() + " 个领地, " + current.getWorldCount() + " 个世界, 版本 " + current.getVersion() + "; "
+            + "区块缓存: " + chunkCount + " 个区块, 命中 " + hits + ", 未命中 " + misses
+            + ", 淘汰 " + evictions + ", 命中率 " + hitRate;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,224 @@
+package io.github.railgun19457.easyland.core;
+
+/**
+ * 单个世界的区块候选领地缓存。
+ * 以打包后的区块坐标为键，值为按优先级排序的领地ID数组，以及优先级最高的领地是否完全覆盖该区块。
+ * 容量有上限，超出时使用带访问频率的 CLOCK 算法淘汰：
+ * 每次命中会提高条目的频率计数，时钟指针扫过时频率递减，频率为零的条目被淘汰。
+ * 只访问过一次的区块（例如玩家飞行途经的区块）会先于出生点、主城等热点区块被淘汰。
+ * 此类不是线程安全的，由调用方负责同步。
+ */
+final class LandChunkTable {
+    // 频率计数的上限，避免长期热点在访问模式变化后长时间无法淘汰
+    private static final int MAX_FREQUENCY = 3;
+
+    /**
+     * 缓存条目，记录区块的候选领地、覆盖情况及其在时钟环中的位置。
+     */
+    static final class Entry {
+        final long key;
+        final int[] landIds;
+        // 优先级最高的候选领地是否完全覆盖区块，此时区块内每个坐标的结果都是它
+        final boolean covered;
+        int frequency;
+        int slot;
+
+        Entry(long key, int[] landIds, boolean covered) {
+            this.key = key;
+            this.landIds = landIds;
+            this.covered = covered;
+        }
+    }
+
+    private final LongHashTable<Entry> entries = new LongHashTable<>();
+    // 格式: landId -> 已缓存且包含该领地的区块键集合
+    private final LongHashTable<LongHashTable<Boolean>> chunksByLand = new LongHashTable<>();
+
+    // 时钟环及其空闲槽位
+    private Entry[] ring = new Entry[0];
+    private int[] freeSlots = new int[0];
+    private int freeCount;
+    private int usedSlots;
+    private int hand;
+
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    /**
+     * 获取区块的缓存条目。
+     *
+     * @param key 区块键
+     * @return 缓存条目，如果区块未缓存则返回 null
+     */
+    Entry get(long key) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            misses++;
+            return null;
+        }
+        hits++;
+        if (entry.frequency < MAX_FREQUENCY) {
+            entry.frequency++;
+        }
+        return entry;
+    }
+
+    /**
+     * 缓存一个区块的条目，并将其候选领地登记到反向索引。
+     * 缓存已满时先淘汰一个条目。
+     *
+     * @param entry    新的缓存条目
+     * @param capacity 缓存容量上限
+     */
+    void put(Entry entry, int capacity) {
+        if (capacity <= 0) {
+            return;
+        }
+        if (ring.length != capacity) {
+            resize(capacity);
+        }
+
+        long key = entry.key;
+        Entry existing = entries.get(key);
+        if (existing != null) {
+            removeEntry(existing);
+        }
+
+        entry.slot = acquireSlot();
+        ring[entry.slot] = entry;
+        entries.put(key, entry);
+
+        for (int landId : entry.landIds) {
+            LongHashTable<Boolean> keys = chunksByLand.get(landId);
+            if (keys == null) {
+                keys = new LongHashTable<>();
+                chunksByLand.put(landId, keys);
+            }
+            keys.put(key, Boolean.TRUE);
+        }
+    }
+
+    /**
+     * 清除所有包含指定领地的已缓存区块。
+     *
+     * @param landId 领地ID
+     */
+    void invalidateLand(int landId) {
+        LongHashTable<Boolean> keys = chunksByLand.get(landId);
+        if (keys == null) {
+            return;
+        }
+        for (long key : keys.keys()) {
+            invalidate(key);
+        }
+    }
+
+    /**
+     * 清除与指定区块范围重叠的已缓存区块。
+     * 范围内的区块数多于已缓存区块数时改为遍历缓存。
+     *
+     * @param minChunkX 最小区块 X 坐标
+     * @param minChunkZ 最小区块 Z 坐标
+     * @param maxChunkX 最大区块 X 坐标
+     * @param maxChunkZ 最大区块 Z 坐标
+     */
+    void invalidateArea(int minChunkX, int minChunkZ, int maxChunkX, int maxChunkZ) {
+        long coveredChunks = (long) (maxChunkX - minChunkX + 1) * (maxChunkZ - minChunkZ + 1);
+        if (coveredChunks <= entries.size()) {
+            for (int chunkX = minChunkX; chunkX <= maxChunkX; chunkX++) {
+                for (int chunkZ = minChunkZ; chunkZ <= maxChunkZ; chunkZ++) {
+                    invalidate(LongHashTable.chunkKey(chunkX, chunkZ));
+                }
+            }
+            return;
+        }
+
+        for (long key : entries.keys()) {
+            int chunkX = (int) (key >> 32);
+            int chunkZ = (int) key;
+            if (chunkX >= minChunkX && chunkX <= maxChunkX && chunkZ >= minChunkZ && chunkZ <= maxChunkZ) {
+                invalidate(key);
+            }
+        }
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    long getHits() {
+        return hits;
+    }
+
+    long getMisses() {
+        return misses;
+    }
+
+    long getEvictions() {
+        return evictions;
+    }
+
+    private void invalidate(long key) {
+        Entry entry = entries.get(key);
+        if (entry != null) {
+            removeEntry(entry);
+        }
+    }
+
+    /**
+     * 获取一个空闲的时钟槽位，必要时按 CLOCK 算法淘汰一个条目。
+     */
+    private int acquireSlot() {
+        if (freeCount > 0) {
+            return freeSlots[--freeCount];
+        }
+        if (usedSlots < ring.length) {
+            return usedSlots++;
+        }
+
+        // 频率计数有上限，因此最多扫描 MAX_FREQUENCY + 1 圈
+        while (true) {
+            Entry candidate = ring[hand];
+            hand = (hand + 1) % ring.length;
+            if (candidate.frequency == 0) {
+                removeEntry(candidate);
+                evictions++;
+                return freeSlots[--freeCount];
+            }
+            candidate.frequency--;
+        }
+    }
+
+    /**
+     * 移除条目，释放其时钟槽位并从反向索引中注销。
+     */
+    private void removeEntry(Entry entry) {
+        entries.remove(entry.key);
+        ring[entry.slot] = null;
+        freeSlots[freeCount++] = entry.slot;
+
+        for (int landId : entry.landIds) {
+            LongHashTable<Boolean> keys = chunksByLand.get(landId);
+            if (keys != null) {
+                keys.remove(entry.key);
+                if (keys.size() == 0) {
+                    chunksByLand.remove(landId);
+                }
+            }
+        }
+    }
+
+    /**
+     * 容量变化时（例如重载配置后）丢弃现有条目并重新分配时钟环。
+     */
+    private void resize(int capacity) {
+        entries.clear();
+        chunksByLand.clear();
+        ring = new Entry[capacity];
+        freeSlots = new int[capacity];
+        freeCount = 0;
+        usedSlots = 0;
+        hand = 0;
+    }
+}
@@ -0,0 +1,99 @@
+package io.github.railgun19457.easyland.core;
+
+import io.github.railgun19457.easyland.model.Land;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * 领地ID到领地对象的持久化（不可变）映射。
+ * 领地ID由数据库自增生成，基本连续，因此按ID分页存储在两级数组中：
+ * 修改时只复制外层数组和被修改的一页，其余页在新旧版本之间共享。
+ * 发布后不再修改，可以被任意线程无锁并发读取。
+ */
+final class LandIdTable {
+    // 每页 1024 个槽位
+    private static final int PAGE_BITS = 10;
+    private static final int PAGE_SIZE = 1 << PAGE_BITS;
+    private static final int PAGE_MASK = PAGE_SIZE - 1;
+
+    static final LandIdTable EMPTY = new LandIdTable(new Land[0][]);
+
+    private final Land[][] pages;
+
+    private LandIdTable(Land[][] pages) {
+        this.pages = pages;
+    }
+
+    /**
+     * 由一组领地构建映射。
+     *
+     * @param lands 所有领地
+     * @return 新的映射
+     */
+    static LandIdTable build(Collection<Land> lands) {
+        int maxId = -1;
+        for (Land land : lands) {
+            maxId = Math.max(maxId, land.getId());
+        }
+
+        Land[][] pages = new Land[(maxId >>> PAGE_BITS) + 1][];
+        for (Land land : lands) {
+            int id = land.getId();
+            if (id < 0) {
+                continue;
+            }
+            Land[] page = pages[id >>> PAGE_BITS];
+            if (page == null) {
+                page = new Land[PAGE_SIZE];
+                pages[id >>> PAGE_BITS] = page;
+            }
+            page[id & PAGE_MASK] = land;
+        }
+        return new LandIdTable(pages);
+    }
+
+    /**
+     * 根据ID获取领地。
+     *
+     * @param landId 领地ID
+     * @return 领地，如果不存在则返回 null
+     */
+    Land get(int landId) {
+        if (landId < 0) {
+            return null;
+        }
+        int pageIndex = landId >>> PAGE_BITS;
+        if (pageIndex >= pages.length) {
+            return null;
+        }
+        Land[] page = pages[pageIndex];
+        return page != null ? page[landId & PAGE_MASK] : null;
+    }
+
+    /**
+     * 返回将指定ID映射到新领地（或移除该ID）后的新映射，原映射不变。
+     *
+     * @param landId 领地ID
+     * @param land   新的领地对象，为 null 时移除该ID
+     * @return 新映射
+     */
+    LandIdTable with(int landId, Land land) {
+        if (landId < 0) {
+            throw new IllegalArgumentException("无效的领地ID: " + landId);
+        }
+        int pageIndex = landId >>> PAGE_BITS;
+        if (land == null && get(landId) == null) {
+            return this;
+        }
+
+        Land[][] newPages = pageIndex < pages.length
+            ? pages.clone()
+            : Arrays.copyOf(pages, pageIndex + 1);
+        Land[] page = newPages[pageIndex];
+        page = page != null ? page.clone() : new Land[PAGE_SIZE];
+        page[landId & PAGE_MASK] = land;
+        newPages[pageIndex] = page;
+        return new LandIdTable(newPages);
+    }
+}
@@ -1,10 +1,12 @@
 package io.github.railgun19457.easyland.core;
 
 import io.github.railgun19457.easyland.I18nManager;
+import io.github.railgun19457.easyland.exception.LandNameExistsException;
 import io.github.railgun19457.easyland.exception.LandNotFoundException;
 import io.github.railgun19457.easyland.exception.SubClaimException;
 import io.github.railgun19457.easyland.model.Land;
 import io.github.railgun19457.easyland.model.LandTrust;
+import io.github.railgun19457.easyland.storage.DatabaseExecutor;
 import io.github.railgun19457.easyland.storage.LandDAO;
 import io.github.railgun19457.easyland.storage.LandTrustDAO;
 import io.github.railgun19457.easyland.storage.PlayerDAO;
@@ -16,12 +18,18 @@ import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.logging.Logger;
 
 /**
  * Core service for managing land claims in the Easyland plugin.
  * This class handles all business logic related to land creation, management,
  * and permissions.
+ * <p>
+ * Command-facing operations end in {@code Async}: they run their database work on the
+ * {@link DatabaseExecutor} and return a {@link CompletableFuture}, so the server thread never
+ * waits on JDBC. Results must be handed back to the server thread before using the Bukkit API.
  */
 public class LandManager {
     private final Logger logger;
@@ -32,7 +40,10 @@ public class LandManager {
     private final I18nManager i18nManager;
     private final ConfigManager configManager;
     private final LandCache landCache;
+    private final TrustIndex trustIndex;
+    private final PlayerSessionCache playerSessionCache;
     private final PermissionManager permissionManager;
+    private final DatabaseExecutor databaseExecutor;
 
     /**
      * Constructor for LandManager.
@@ -44,11 +55,15 @@ public class LandManager {
      * @param i18nManager       The internationalization manager
      * @param configManager     The configuration manager
      * @param landCache         The land cache manager
+     * @param trustIndex        The in-memory trust index
+     * @param playerSessionCache The cache of online players' database records
      * @param permissionManager The permission manager
+     * @param databaseExecutor  The executor that runs database work off the server thread
      */
     public LandManager(Logger logger, LandDAO landDAO, PlayerDAO playerDAO,
                       LandTrustDAO landTrustDAO, I18nManager i18nManager, ConfigManager configManager, 
-                      LandCache landCache, PermissionManager permissionManager) {
+                      LandCache landCache, TrustIndex trustIndex, PlayerSessionCache playerSessionCache,
+                      PermissionManager permissionManager, DatabaseExecutor databaseExecutor) {
         this.logger = logger;
         this.landDAO = landDAO;
         this.playerDAO = playerDAO;
@@ -56,313 +71,345 @@ public class LandManager {
         this.i18nManager = i18nManager;
         this.configManager = configManager;
         this.landCache = landCache;
+        this.trustIndex = trustIndex;
+        this.playerSessionCache = playerSessionCache;
         this.permissionManager = permissionManager;
+        this.databaseExecutor = databaseExecutor;
     }
 
     /**
      * Creates a new land claim.
+     * The selection is validated on the calling thread (the server thread, since it reads the world);
+     * the overlap check and insert run on the writer thread.
      *
      * @param creator The player creating the land
      * @param pos1    The first corner position
      * @param pos2    The second corner position
      * @param name    The name of the land (optional)
-     * @return The created land, or null if creation failed
+     * @return A future completed with the created land, or null if creation failed
      */
-    public Land createLand(org.bukkit.entity.Player creator, Location pos1, Location pos2, String name) {
-        try {
-            // Validate positions
-            if (!pos1.getWorld().equals(pos2.getWorld())) {
-                logger.warning("Positions must be in the same world");
-                return null;
-            }
+    public CompletableFuture<Land> createLandAsync(org.bukkit.entity.Player creator, Location pos1, Location pos2, String name) {
+        // Validate positions
+        if (!pos1.getWorld().equals(pos2.getWorld())) {
+            logger.warning("Positions must be in the same world");
+            return CompletableFuture.completedFuture(null);
+        }
 
-            // Calculate land area
-            int x1 = Math.min(pos1.getBlockX(), pos2.getBlockX());
-            int z1 = Math.min(pos1.getBlockZ(), pos2.getBlockZ());
-            int x2 = Math.max(pos1.getBlockX(), pos2.getBlockX());
-            int z2 = Math.max(pos1.getBlockZ(), pos2.getBlockZ());
-            int area = (x2 - x1 + 1) * (z2 - z1 + 1);
-            
-            // Check if area is within limits
-            if (area < configManager.getMinLandArea()) {
-                logger.info("Land area " + area + " is below minimum " + configManager.getMinLandArea());
-                return null;
-            }
-            
-            if (area > configManager.getMaxLandArea()) {
-                logger.info("Land area " + area + " exceeds maximum " + configManager.getMaxLandArea());
-                return null;
-            }
+        // Calculate land area
+        int x1 = Math.min(pos1.getBlockX(), pos2.getBlockX());
+        int z1 = Math.min(pos1.getBlockZ(), pos2.getBlockZ());
+        int x2 = Math.max(pos1.getBlockX(), pos2.getBlockX());
+        int z2 = Math.max(pos1.getBlockZ(), pos2.getBlockZ());
+        int area = (x2 - x1 + 1) * (z2 - z1 + 1);
+        
+        // Check if area is within limits
+        if (area < configManager.getMinLandArea()) {
+            logger.info("Land area " + area + " is below minimum " + configManager.getMinLandArea());
+            return CompletableFuture.completedFuture(null);
+        }
+        
+        if (area > configManager.getMaxLandArea()) {
+            logger.info("Land area " + area + " exceeds maximum " + configManager.getMaxLandArea());
+            return CompletableFuture.completedFuture(null);
+        }
 
-            // Check for overlapping lands
-            List<Land> overlappingLands = landDAO.getOverlappingLands(
-                pos1.getWorld().getName(), x1, z1, x2, z2);
-            
-            if (!overlappingLands.isEmpty()) {
-                logger.info("Land overlaps with existing lands");
-                return null;
-            }
+        // Calculate default teleport location (center of land)
+        String worldName = pos1.getWorld().getName();
+        int centerX = (x1 + x2) / 2;
+        int centerZ = (z1 + z2) / 2;
+        // Get highest block Y at center (world access must stay on the server thread)
+        int centerY = pos1.getWorld().getHighestBlockYAt(centerX, centerZ) + 1;
 
-            // Calculate default teleport location (center of land)
-            int centerX = (x1 + x2) / 2;
-            int centerZ = (z1 + z2) / 2;
-            // Get highest block Y at center
-            int centerY = pos1.getWorld().getHighestBlockYAt(centerX, centerZ) + 1;
-
-            // Initialize default flags
-            java.util.Map<io.github.railgun19457.easyland.model.LandFlag, Boolean> defaultFlags = new java.util.HashMap<>();
-            // Load default flags from config
-            for (io.github.railgun19457.easyland.model.LandFlag flag : io.github.railgun19457.easyland.model.LandFlag.values()) {
-                defaultFlags.put(flag, configManager.getDefaultRuleValue(flag.getName()));
-            }
+        return databaseExecutor.write(() -> {
+            try {
+                // Check for overlapping lands
+                List<Land> overlappingLands = landDAO.getOverlappingLands(worldName, x1, z1, x2, z2);
+                
+                if (!overlappingLands.isEmpty()) {
+                    logger.info("Land overlaps with existing lands");
+                    return null;
+                }
 
-            // Create the land using Builder pattern
-            Land land = Land.builder()
-                .name(name)
-                .world(pos1.getWorld().getName())
-                .coordinates(x1, z1, x2, z2)
-                .ownerId(0) // Default to unowned (0)
-                .teleportX(centerX + 0.5)
-                .teleportY((double) centerY)
-                .teleportZ(centerZ + 0.5)
-                .teleportYaw(0.0f)
-                .teleportPitch(0.0f)
-                .flags(defaultFlags)
-                .build();
-            landDAO.createLand(land);
-            
-            // Invalidate cache for the affected area
-            landCache.invalidateCacheInArea(land.getWorld(), land.getX1(), land.getZ1(), land.getX2(), land.getZ2());
-            
-            logger.info("Created land " + land.getId() + " by admin " + creator.getName());
-            return land;
-            
-        } catch (SQLException e) {
-            logger.severe("Failed to create land: " + e.getMessage());
-            return null;
-        }
+                // The name was checked before submitting, but another command may have taken it since
+                if (name != null && landDAO.getLandByName(name).isPresent()) {
+                    logger.info("Land name already exists: " + name);
+                    return null;
+                }
+
+                // Create the land using Builder pattern
+                Land land = Land.builder()
+                    .name(name)
+                    .world(worldName)
+                    .coordinates(x1, z1, x2, z2)
+                    .ownerId(0) // Default to unowned (0)
+                    .teleportX(centerX + 0.5)
+                    .teleportY((double) centerY)
+                    .teleportZ(centerZ + 0.5)
+                    .teleportYaw(0.0f)
+                    .teleportPitch(0.0f)
+                    .flags(getDefaultFlags())
+                    .build();
+                landDAO.createLand(land);
+                
+                // Add the new land to the spatial index
+                landCache.addLand(land);
+                
+                logger.info("Created land " + land.getId() + " by admin " + creator.getName());
+                return land;
+                
+            } catch (SQLException e) {
+                logger.severe("Failed to create land: " + e.getMessage());
+                return null;
+            }
+        });
     }
 
     /**
      * Claims an unowned land.
+     * The database work runs on the writer thread.
      *
      * @param player The player claiming the land
      * @param landId The ID of the land to claim
-     * @return true if claiming was successful, false otherwise
+     * @return A future completed with true if claiming was successful, false otherwise
      */
-    public boolean claimLand(org.bukkit.entity.Player player, String landIdOrName) {
-        try {
-            // Get the land by ID or Name
-            Optional<Land> landOpt = getLandByIdOrName(landIdOrName);
-            if (!landOpt.isPresent()) {
-                logger.info("Land not found: " + landIdOrName);
-                return false;
-            }
+    public CompletableFuture<Boolean> claimLandAsync(org.bukkit.entity.Player player, String landIdOrName) {
+        return databaseExecutor.write(() -> {
+            try {
+                // Get the land by ID or Name
+                Optional<Land> landOpt = getLandByIdOrName(landIdOrName);
+                if (!landOpt.isPresent()) {
+                    logger.info("Land not found: " + landIdOrName);
+                    return false;
+                }
 
-            Land land = landOpt.get();
+                Land land = landOpt.get();
             
-            // Check if land is already owned
-            if (land.getOwnerId() != 0) {
-                logger.info("Land is already owned: " + landIdOrName);
-                return false;
-            }
+                // Check if land is already owned
+                if (land.getOwnerId() != 0) {
+                    logger.info("Land is already owned: " + landIdOrName);
+                    return false;
+                }
 
-            // Get or create player in database
-            io.github.railgun19457.easyland.model.Player dbPlayer = playerDAO.getOrCreatePlayer(
-                player.getUniqueId(), player.getName());
+                // Get or create player in database
+                io.github.railgun19457.easyland.model.Player dbPlayer = playerSessionCache.getOrCreatePlayer(player);
             
-            // Check player's land count
-            int landCount = landDAO.getLandCountByOwner(dbPlayer.getId());
-            if (landCount >= configManager.getMaxLandsPerPlayer()) {
-                logger.info("Player " + player.getName() + " has reached maximum land count");
-                return false;
-            }
+                // Check player's land count
+                int landCount = landDAO.getLandCountByOwner(dbPlayer.getId());
+                if (landCount >= configManager.getMaxLandsPerPlayer()) {
+                    logger.info("Player " + player.getName() + " has reached maximum land count");
+                    return false;
+                }
 
-            // Claim the land
-            land.setOwnerId(dbPlayer.getId());
-            landDAO.updateLand(land);
+                // Claim the land
+                land.setOwnerId(dbPlayer.getId());
+                landDAO.updateLand(land);
             
-            // Invalidate cache for the affected land
-            landCache.invalidateLandCache(land.getId());
+                // Invalidate cache for the affected land
+                landCache.invalidateLandCache(land.getId());
             
-            logger.info("Player " + player.getName() + " claimed land " + land.getId());
-            return true;
+                logger.info("Player " + player.getName() + " claimed land " + land.getId());
+                return true;
             
-        } catch (SQLException e) {
-            logger.severe("Failed to claim land: " + e.getMessage());
-            return false;
-        }
+            } catch (SQLException e) {
+                logger.severe("Failed to claim land: " + e.getMessage());
+                return false;
+            }
+        });
     }
 
     /**
      * Deletes a land.
+     * The database work runs on the writer thread.
      *
      * @param player The player deleting the land
      * @param landId The ID of the land to delete
-     * @return true if deletion was successful, false otherwise
+     * @return A future completed with true if deletion was successful, false otherwise
      */
-    public boolean deleteLand(org.bukkit.entity.Player player, String landId) {
-        try {
-            // 获取领地
-            Optional<Land> landOpt = getLandByIdOrName(landId);
-            if (!landOpt.isPresent()) {
-                logger.info("Land not found for deletion: " + landId);
-                return false;
-            }
-            Land land = landOpt.get();
+    public CompletableFuture<Boolean> deleteLandAsync(org.bukkit.entity.Player player, String landId) {
+        // 权限在调用线程（主线程）上检查
+        boolean isAdmin = player.hasPermission("easyland.admin.manage") || player.hasPermission("easyland.admin");
+        return databaseExecutor.write(() -> {
+            try {
+                // 获取领地
+                Optional<Land> landOpt = getLandByIdOrName(landId);
+                if (!landOpt.isPresent()) {
+                    logger.info("Land not found for deletion: " + landId);
+                    return false;
+                }
+                Land land = landOpt.get();
 
-            // 检查权限：所有者或管理员
-            boolean isOwner = false;
-            Optional<io.github.railgun19457.easyland.model.Player> dbPlayerOpt = playerDAO.getPlayerByUuid(player.getUniqueId());
-            if (dbPlayerOpt.isPresent()) {
-                if (land.getOwnerId() == dbPlayerOpt.get().getId()) {
-                    isOwner = true;
+                // 检查权限：所有者或管理员
+                boolean isOwner = false;
+                Optional<io.github.railgun19457.easyland.model.Player> dbPlayerOpt = playerSessionCache.getPlayer(player);
+                if (dbPlayerOpt.isPresent()) {
+                    if (land.getOwnerId() == dbPlayerOpt.get().getId()) {
+                        isOwner = true;
+                    }
                 }
-            }
 
-            if (!isOwner && !player.hasPermission("easyland.admin.manage") && !player.hasPermission("easyland.admin")) {
-                logger.info("Player " + player.getName() + " tried to delete land " + landId + " without permission");
-                return false;
-            }
+                if (!isOwner && !isAdmin) {
+                    logger.info("Player " + player.getName() + " tried to delete land " + landId + " without permission");
+                    return false;
+                }
 
-            // 删除领地
-            landDAO.deleteLand(land.getId());
+                // 删除领地
+                landDAO.deleteLand(land.getId());
             
-            // 使受影响区域的缓存失效
-            landCache.invalidateCacheInArea(land.getWorld(), land.getX1(), land.getZ1(), land.getX2(), land.getZ2());
+                // 从空间索引和信任索引中移除该领地
+                landCache.removeLand(land.getId());
+                trustIndex.removeLand(land.getId());
             
-            logger.info("Player " + player.getName() + " deleted land " + landId);
-            return true;
+                logger.info("Player " + player.getName() + " deleted land " + landId);
+                return true;
             
-        } catch (SQLException e) {
-            logger.severe("Failed to delete land: " + e.getMessage());
-            return false;
-        }
+            } catch (SQLException e) {
+                logger.severe("Failed to delete land: " + e.getMessage());
+                return false;
+            }
+        });
     }
 
     /**
      * Abandons a land, making it unowned.
+     * The database work runs on the writer thread.
      *
      * @param player The player abandoning the land
      * @param landId The ID of the land to abandon
-     * @return true if abandoning was successful, false otherwise
+     * @return A future completed with true if abandoning was successful, false otherwise
      */
-    public boolean abandonLand(org.bukkit.entity.Player player, String landId) {
-        try {
-            // 使用辅助方法验证领地所有权
-            Land land = getAndVerifyLandOwner(player, landId);
-            if (land == null) {
-                return false;
-            }
+    public CompletableFuture<Boolean> abandonLandAsync(org.bukkit.entity.Player player, String landId) {
+        return databaseExecutor.write(() -> {
+            try {
+                // 使用辅助方法验证领地所有权
+                Land land = getAndVerifyLandOwner(player, landId);
+                if (land == null) {
+                    return false;
+                }
 
-            // 放弃领地，将所有者设置为0
-            land.setOwnerId(0);
-            landDAO.updateLand(land);
+                // 放弃领地，将所有者设置为0
+                land.setOwnerId(0);
+                landDAO.updateLand(land);
             
-            // 使受影响的领地缓存失效
-            landCache.invalidateLandCache(land.getId());
+                // 使受影响的领地缓存失效
+                landCache.invalidateLandCache(land.getId());
             
-            logger.info("Player " + player.getName() + " abandoned land " + landId);
-            return true;
+                logger.info("Player " + player.getName() + " abandoned land " + landId);
+                return true;
             
-        } catch (LandNotFoundException e) {
-            logger.info("Land not found for abandonment: " + e.getLandId());
-            return false;
-        } catch (SQLException e) {
-            logger.severe("Failed to abandon land: " + e.getMessage());
-            return false;
-        }
+            } catch (LandNotFoundException e) {
+                logger.info("Land not found for abandonment: " + e.getLandId());
+                return false;
+            } catch (SQLException e) {
+                logger.severe("Failed to abandon land: " + e.getMessage());
+                return false;
+            }
+        });
     }
 
     /**
      * Renames a land.
+     * The database work runs on the writer thread, which also checks that the name is not taken.
      *
      * @param player  The player renaming the land
      * @param landId  The ID of the land to rename
      * @param newName The new name for the land
-     * @return true if renaming was successful, false otherwise
+     * @return A future completed with true if renaming was successful, false if the player may not
+     *         rename the land or the update failed; completed exceptionally with
+     *         {@link LandNotFoundException} or {@link LandNameExistsException}
      */
-    public boolean renameLand(org.bukkit.entity.Player player, String landId, String newName) {
-        try {
-            // 使用辅助方法验证领地所有权或管理员权限
-            Land land = getAndVerifyLandOwnerOrAdmin(player, landId);
-            if (land == null) {
-                return false;
-            }
+    public CompletableFuture<Boolean> renameLandAsync(org.bukkit.entity.Player player, String landId, String newName) {
+        // 权限在调用线程（主线程）上检查
+        boolean isAdmin = permissionManager.isAdmin(player);
+        return databaseExecutor.write(() -> {
+            try {
+                // 使用辅助方法验证领地所有权或管理员权限
+                Land land = getAndVerifyLandOwnerOrAdmin(player, isAdmin, landId);
+                if (land == null) {
+                    return false;
+                }
+
+                // 在写线程中检查名称，与重命名之间不会被其他命令插入
+                Optional<Land> existing = landDAO.getLandByName(newName);
+                if (existing.isPresent() && existing.get().getId() != land.getId()) {
+                    logger.info("Land name already exists: " + newName);
+                    throw new CompletionException(new LandNameExistsException(newName));
+                }
 
-            // 重命名领地
-            land.setName(newName);
-            landDAO.updateLand(land);
+                // 重命名领地
+                land.setName(newName);
+                landDAO.updateLand(land);
             
-            // 使受影响的领地缓存失效
-            landCache.invalidateLandCache(land.getId());
+                // 使受影响的领地缓存失效
+                landCache.invalidateLandCache(land.getId());
             
-            logger.info("Player " + player.getName() + " renamed land " + landId + " to " + newName);
-            return true;
+                logger.info("Player " + player.getName() + " renamed land " + landId + " to " + newName);
+                return true;
             
-        } catch (LandNotFoundException e) {
-            logger.info("Land not found for renaming: " + e.getLandId());
-            return false;
-        } catch (SQLException e) {
-            logger.severe("Failed to rename land: " + e.getMessage());
-            return false;
-        }
+            } catch (LandNotFoundException e) {
+                logger.info("Land not found for renaming: " + e.getLandId());
+                throw new CompletionException(e);
+            } catch (SQLException e) {
+                logger.severe("Failed to rename land: " + e.getMessage());
+                return false;
+            }
+        });
     }
 
     /**
-     * Sets the spawn point for a land.
+     * Sets the spawn point for a land to the player's current location.
+     * The location is captured on the calling thread; the database work runs on the writer thread.
      *
      * @param player   The player setting the spawn
      * @param landName The name of the land
-     * @return true if successful, false otherwise
+     * @return A future completed with true if successful, false otherwise
      */
-    public boolean setLandSpawn(org.bukkit.entity.Player player, String landName) {
-        try {
-            Land land = getAndVerifyLandOwnerOrAdmin(player, landName);
-            if (land == null) {
-                return false;
-            }
+    public CompletableFuture<Boolean> setLandSpawnAsync(org.bukkit.entity.Player player, String landName) {
+        Location loc = player.getLocation();
+        String worldName = loc.getWorld().getName();
+        // 权限在调用线程（主线程）上检查
+        boolean isAdmin = permissionManager.isAdmin(player);
+        return databaseExecutor.write(() -> {
+            try {
+                Land land = getAndVerifyLandOwnerOrAdmin(player, isAdmin, landName);
+                if (land == null) {
+                    return false;
+                }
 
-            Location loc = player.getLocation();
-            // Ensure the location is inside the land
-            if (!land.getWorld().equals(loc.getWorld().getName()) || 
-                !land.contains(loc.getBlockX(), loc.getBlockZ())) {
-                // TODO: Send message "Spawn point must be inside the land"
-                return false;
-            }
+                // Ensure the location is inside the land
+                if (!land.getWorld().equals(worldName) || 
+                    !land.contains(loc.getBlockX(), loc.getBlockZ())) {
+                    // TODO: Send message "Spawn point must be inside the land"
+                    return false;
+                }
 
-            land.setTeleportX(loc.getX());
-            land.setTeleportY(loc.getY());
-            land.setTeleportZ(loc.getZ());
-            land.setTeleportYaw(loc.getYaw());
-            land.setTeleportPitch(loc.getPitch());
+                land.setTeleportX(loc.getX());
+                land.setTeleportY(loc.getY());
+                land.setTeleportZ(loc.getZ());
+                land.setTeleportYaw(loc.getYaw());
+                land.setTeleportPitch(loc.getPitch());
 
-            landDAO.updateLand(land);
-            landCache.invalidateLandCache(land.getId());
-            
-            return true;
-        } catch (LandNotFoundException e) {
-            return false;
-        } catch (SQLException e) {
-            logger.severe("Failed to set land spawn: " + e.getMessage());
-            return false;
-        }
+                landDAO.updateLand(land);
+                landCache.invalidateLandCache(land.getId());
+                
+                return true;
+            } catch (LandNotFoundException e) {
+                return false;
+            } catch (SQLException e) {
+                logger.severe("Failed to set land spawn: " + e.getMessage());
+                return false;
+            }
+        });
     }
 
     /**
      * Teleports a player to a land.
+     * Must be called on the server thread; look the land up with {@link #getLandByIdOrNameAsync(String)} first.
      *
-     * @param player   The player to teleport
-     * @param landName The name of the land
+     * @param player The player to teleport
+     * @param land   The land to teleport to
      * @return true if successful, false otherwise
      */
-    public boolean teleportToLand(org.bukkit.entity.Player player, String landName) {
-        Optional<Land> landOpt = getLandByIdOrName(landName);
-        if (!landOpt.isPresent()) {
-            return false;
-        }
-        Land land = landOpt.get();
-
+    public boolean teleportToLand(org.bukkit.entity.Player player, Land land) {
         // Check if player has permission to teleport (e.g. trusted or public flag)
         // For now, allow everyone if it's public or if they are trusted/owner
         // TODO: Check 'teleport' flag or similar
@@ -396,207 +443,236 @@ public class LandManager {
     }
 
     /**
-     * Lists all lands in the database (for admins).
+     * Lists a page of all lands in the database (for admins).
+     * The page start is located on the primary key alone and the page itself is read with an
+     * ID cursor as lightweight summaries, so no flags or trusts are loaded.
      *
      * @param page The page number (1-based)
-     * @return A list of all lands
+     * @return The lands on the page and the total number of lands
      */
-    public List<Land> listAllLands(int page) {
+    public LandPage listAllLands(int page) {
         try {
-            // Get all lands
-            List<Land> allLands = landDAO.getAllLands();
-            
-            // Apply pagination
-            int startIndex = (page - 1) * configManager.getListPerPage();
-            int endIndex = Math.min(startIndex + configManager.getListPerPage(), allLands.size());
-            
-            if (startIndex >= allLands.size()) {
-                return List.of();
+            int perPage = configManager.getListPerPage();
+            int totalLands = landDAO.getLandCount();
+            int offset = (page - 1) * perPage;
+            if (offset >= totalLands) {
+                return new LandPage(List.of(), totalLands);
             }
-            
-            return allLands.subList(startIndex, endIndex);
-            
+
+            // 先定位上一页最后一个领地的ID，再按ID向后读取一页
+            int cursor = landDAO.getPageCursor(offset);
+            if (cursor < 0) {
+                return new LandPage(List.of(), totalLands);
+            }
+            return new LandPage(landDAO.getLandSummaries(cursor, perPage), totalLands);
+
         } catch (SQLException e) {
             logger.severe("Failed to list all lands: " + e.getMessage());
-            return List.of();
+            return LandPage.empty();
         }
     }
+
+    /**
+     * Lists a page of all lands on the reader pool.
+     *
+     * @param page The page number (1-based)
+     * @return A future completed with the lands on the page and the total number of lands
+     */
+    public CompletableFuture<LandPage> listAllLandsAsync(int page) {
+        return databaseExecutor.read(() -> listAllLands(page));
+    }
     
     /**
-     * Lists all lands owned by a player.
+     * Lists a page of the lands owned by a player.
      *
      * @param playerUuid The UUID of the player
      * @param page       The page number (1-based)
-     * @return A list of lands owned by the player
+     * @return The player's lands on the page and the total number of lands the player owns
      */
-    public List<Land> listPlayerLands(UUID playerUuid, int page) {
+    public LandPage listPlayerLands(UUID playerUuid, int page) {
         try {
             // Get player from database
             Optional<io.github.railgun19457.easyland.model.Player> playerOpt = playerDAO.getPlayerByUuid(playerUuid);
             if (!playerOpt.isPresent()) {
                 logger.info("Player not found in database: " + playerUuid);
-                return List.of();
+                return LandPage.empty();
             }
 
-            io.github.railgun19457.easyland.model.Player dbPlayer = playerOpt.get();
-            
-            // Get all lands owned by the player
-            List<Land> allLands = landDAO.getLandsByOwner(dbPlayer.getId());
-            
-            // Apply pagination
-            int startIndex = (page - 1) * configManager.getListPerPage();
-            int endIndex = Math.min(startIndex + configManager.getListPerPage(), allLands.size());
-            
-            if (startIndex >= allLands.size()) {
-                return List.of();
+            int ownerId = playerOpt.get().getId();
+            int perPage = configManager.getListPerPage();
+            int totalLands = landDAO.getLandCountByOwner(ownerId);
+            int offset = (page - 1) * perPage;
+            if (offset >= totalLands) {
+                return new LandPage(List.of(), totalLands);
             }
-            
-            return allLands.subList(startIndex, endIndex);
+
+            int cursor = landDAO.getPageCursorByOwner(ownerId, offset);
+            if (cursor < 0) {
+                return new LandPage(List.of(), totalLands);
+            }
+            return new LandPage(landDAO.getLandSummariesByOwner(ownerId, cursor, perPage), totalLands);
             
         } catch (SQLException e) {
             logger.severe("Failed to list player lands: " + e.getMessage());
-            return List.of();
+            return LandPage.empty();
         }
     }
 
+    /**
+     * Lists a page of the lands owned by a player on the reader pool.
+     *
+     * @param playerUuid The UUID of the player
+     * @param page       The page number (1-based)
+     * @return A future completed with the player's lands on the page and their total number
+     */
+    public CompletableFuture<LandPage> listPlayerLandsAsync(UUID playerUuid, int page) {
+        return databaseExecutor.read(() -> listPlayerLands(playerUuid, page));
+    }
+
     /**
      * Trusts a player on a land.
+     * The database work runs on the writer thread.
      *
      * @param owner      The land owner
      * @param landId     The ID of the land
      * @param targetPlayer The player to trust (can be offline)
-     * @return true if trusting was successful, false otherwise
+     * @return A future completed with true if trusting was successful, false otherwise
      */
-    public boolean trustPlayer(org.bukkit.entity.Player owner, String landId, org.bukkit.OfflinePlayer targetPlayer) {
-        try {
-            // 使用辅助方法验证领地所有权
-            Land land = getAndVerifyLandOwner(owner, landId);
-            if (land == null) {
-                return false;
-            }
+    public CompletableFuture<Boolean> trustPlayerAsync(org.bukkit.entity.Player owner, String landId, org.bukkit.OfflinePlayer targetPlayer) {
+        return databaseExecutor.write(() -> {
+            try {
+                // 使用辅助方法验证领地所有权
+                Land land = getAndVerifyLandOwner(owner, landId);
+                if (land == null) {
+                    return false;
+                }
 
-            // 获取或创建目标玩家
-            io.github.railgun19457.easyland.model.Player dbTargetPlayer = playerDAO.getOrCreatePlayer(
-                targetPlayer.getUniqueId(), targetPlayer.getName());
+                // 获取或创建目标玩家
+                io.github.railgun19457.easyland.model.Player dbTargetPlayer = playerDAO.getOrCreatePlayer(
+                    targetPlayer.getUniqueId(), targetPlayer.getName());
             
-            // 创建信任关系
-            LandTrust landTrust = new LandTrust(land.getId(), dbTargetPlayer.getId());
-            landTrustDAO.createLandTrust(landTrust);
+                // 创建信任关系
+                LandTrust landTrust = new LandTrust(land.getId(), dbTargetPlayer.getId());
+                landTrustDAO.createLandTrust(landTrust);
+                trustIndex.addTrust(land.getId(), dbTargetPlayer.getId());
             
-            // 使受影响的领地缓存失效
-            landCache.invalidateLandCache(land.getId());
+                // 使受影响的领地缓存失效
+                landCache.invalidateLandCache(land.getId());
             
-            logger.info("Player " + owner.getName() + " trusted " + targetPlayer.getName() + " on land " + landId);
-            return true;
+                logger.info("Player " + owner.getName() + " trusted " + targetPlayer.getName() + " on land " + landId);
+                return true;
             
-        } catch (LandNotFoundException e) {
-            logger.info("Land not found for trusting: " + e.getLandId());
-            return false;
-        } catch (SQLException e) {
-            logger.severe("Failed to trust player: " + e.getMessage());
-            return false;
-        }
+            } catch (LandNotFoundException e) {
+                logger.info("Land not found for trusting: " + e.getLandId());
+                return false;
+            } catch (SQLException e) {
+                logger.severe("Failed to trust player: " + e.getMessage());
+                return false;
+            }
+        });
     }
 
     /**
      * Sets a flag for a land.
+     * The database work runs on the writer thread.
      *
      * @param player       The player setting the flag
      * @param landIdOrName The ID or name of the land
      * @param flagName     The name of the flag
      * @param value        The value to set (true/false)
-     * @return true if setting the flag was successful, false otherwise
+     * @return A future completed with true if setting the flag was successful, false otherwise
      */
-    public boolean setLandFlag(org.bukkit.entity.Player player, String landIdOrName, String flagName, boolean value) {
-        try {
-            // 使用辅助方法验证领地所有权或管理员权限
-            Land land = getAndVerifyLandOwnerOrAdmin(player, landIdOrName);
-            if (land == null) {
-                return false;
-            }
-            
-            // 查找对应的 LandFlag 枚举
-            io.github.railgun19457.easyland.model.LandFlag targetFlag = null;
-            for (io.github.railgun19457.easyland.model.LandFlag flag : io.github.railgun19457.easyland.model.LandFlag.values()) {
-                if (flag.getName().equalsIgnoreCase(flagName)) {
-                    targetFlag = flag;
-                    break;
+    public CompletableFuture<Boolean> setLandFlagAsync(org.bukkit.entity.Player player, String landIdOrName, String flagName, boolean value) {
+        // 权限在调用线程（主线程）上检查
+        boolean isAdmin = permissionManager.isAdmin(player);
+        return databaseExecutor.write(() -> {
+            try {
+                // 使用辅助方法验证领地所有权或管理员权限
+                Land land = getAndVerifyLandOwnerOrAdmin(player, isAdmin, landIdOrName);
+                if (land == null) {
+                    return false;
                 }
-            }
-            
-            if (targetFlag == null) {
-                logger.info("Invalid flag name: " + flagName);
-                return false;
-            }
             
-            // 更新标志集合
-            java.util.Map<io.github.railgun19457.easyland.model.LandFlag, Boolean> flags = land.getFlagMap();
-            if (flags == null) {
-                flags = new java.util.HashMap<>();
-            }
+                // 查找对应的 LandFlag 枚举
+                io.github.railgun19457.easyland.model.LandFlag targetFlag = null;
+                for (io.github.railgun19457.easyland.model.LandFlag flag : io.github.railgun19457.easyland.model.LandFlag.values()) {
+                    if (flag.getName().equalsIgnoreCase(flagName)) {
+                        targetFlag = flag;
+                        break;
+                    }
+                }
             
-            flags.put(targetFlag, value);
+                if (targetFlag == null) {
+                    logger.info("Invalid flag name: " + flagName);
+                    return false;
+                }
             
-            land.setFlagMap(flags);
-            landDAO.updateLand(land);
+                // 更新标志
+                land.setFlag(targetFlag, value);
+                landDAO.updateLand(land);
             
-            // 使受影响的领地缓存失效
-            landCache.invalidateLandCache(land.getId());
+                // 使受影响的领地缓存失效
+                landCache.invalidateLandCache(land.getId());
             
-            logger.info("Player " + player.getName() + " set flag " + flagName + " to " + value + " for land " + land.getId());
-            return true;
+                logger.info("Player " + player.getName() + " set flag " + flagName + " to " + value + " for land " + land.getId());
+                return true;
             
-        } catch (LandNotFoundException e) {
-            logger.info("Land not found for setting flag: " + e.getLandId());
-            return false;
-        } catch (SQLException e) {
-            logger.severe("Failed to set flag: " + e.getMessage());
-            return false;
-        }
+            } catch (LandNotFoundException e) {
+                logger.info("Land not found for setting flag: " + e.getLandId());
+                return false;
+            } catch (SQLException e) {
+                logger.severe("Failed to set flag: " + e.getMessage());
+                return false;
+            }
+        });
     }
 
     /**
      * Untrusts a player from a land.
+     * The database work runs on the writer thread.
      *
      * @param owner      The land owner
      * @param landId     The ID of the land
      * @param targetPlayer The player to untrust (can be offline)
-     * @return true if untrusting was successful, false otherwise
+     * @return A future completed with true if untrusting was successful, false otherwise
      */
-    public boolean untrustPlayer(org.bukkit.entity.Player owner, String landId, org.bukkit.OfflinePlayer targetPlayer) {
-        try {
-            // 使用辅助方法验证领地所有权
-            Land land = getAndVerifyLandOwner(owner, landId);
-            if (land == null) {
-                return false;
-            }
+    public CompletableFuture<Boolean> untrustPlayerAsync(org.bukkit.entity.Player owner, String landId, org.bukkit.OfflinePlayer targetPlayer) {
+        return databaseExecutor.write(() -> {
+            try {
+                // 使用辅助方法验证领地所有权
+                Land land = getAndVerifyLandOwner(owner, landId);
+                if (land == null) {
+                    return false;
+                }
 
-            // 获取目标玩家
-            Optional<io.github.railgun19457.easyland.model.Player> dbTargetPlayerOpt = playerDAO.getPlayerByUuid(
-                targetPlayer.getUniqueId());
-            if (!dbTargetPlayerOpt.isPresent()) {
-                logger.info("Target player not found in database: " + targetPlayer.getName());
-                return false;
-            }
+                // 获取目标玩家
+                Optional<io.github.railgun19457.easyland.model.Player> dbTargetPlayerOpt = playerDAO.getPlayerByUuid(
+                    targetPlayer.getUniqueId());
+                if (!dbTargetPlayerOpt.isPresent()) {
+                    logger.info("Target player not found in database: " + targetPlayer.getName());
+                    return false;
+                }
 
-            io.github.railgun19457.easyland.model.Player dbTargetPlayer = dbTargetPlayerOpt.get();
+                io.github.railgun19457.easyland.model.Player dbTargetPlayer = dbTargetPlayerOpt.get();
             
-            // 删除信任关系
-            landTrustDAO.deleteLandTrust(land.getId(), dbTargetPlayer.getId());
+                // 删除信任关系
+                landTrustDAO.deleteLandTrust(land.getId(), dbTargetPlayer.getId());
+                trustIndex.removeTrust(land.getId(), dbTargetPlayer.getId());
             
-            // 使受影响的领地缓存失效
-            landCache.invalidateLandCache(land.getId());
+                // 使受影响的领地缓存失效
+                landCache.invalidateLandCache(land.getId());
             
-            logger.info("Player " + owner.getName() + " untrusted " + targetPlayer.getName() + " from land " + landId);
-            return true;
+                logger.info("Player " + owner.getName() + " untrusted " + targetPlayer.getName() + " from land " + landId);
+                return true;
             
-        } catch (LandNotFoundException e) {
-            logger.info("Land not found for untrusting: " + e.getLandId());
-            return false;
-        } catch (SQLException e) {
-            logger.severe("Failed to untrust player: " + e.getMessage());
-            return false;
-        }
+            } catch (LandNotFoundException e) {
+                logger.info("Land not found for untrusting: " + e.getLandId());
+                return false;
+            } catch (SQLException e) {
+                logger.severe("Failed to untrust player: " + e.getMessage());
+                return false;
+            }
+        });
     }
 
     /**
@@ -648,14 +724,55 @@ public class LandManager {
 
     /**
      * Creates a sub-claim within a parent land.
+     * Permissions and the selection are read on the calling thread; the database work runs on the writer thread.
      *
      * @param owner       The land owner
-     * @param parentLandId The ID of the parent land
+     * @param parentLandIdOrName The ID or name of the parent land
      * @param pos1        The first corner position
      * @param pos2        The second corner position
-     * @return The created sub-claim, or null if creation failed
+     * @param name        The name of the sub-claim (optional)
+     * @return A future completed with the created sub-claim, or completed exceptionally
+     *         with a {@link SubClaimException} if creation failed
+     */
+    public CompletableFuture<Land> createSubClaimAsync(org.bukkit.entity.Player owner, String parentLandIdOrName, Location pos1, Location pos2, String name) {
+        // Validate positions
+        if (!pos1.getWorld().equals(pos2.getWorld())) {
+            return CompletableFuture.failedFuture(new SubClaimException("Sub-claim must be in the same world as the parent land"));
+        }
+
+        boolean isAdmin = owner.hasPermission("easyland.admin") || owner.hasPermission("easyland.admin.manage");
+        String worldName = pos1.getWorld().getName();
+        int x1 = Math.min(pos1.getBlockX(), pos2.getBlockX());
+        int z1 = Math.min(pos1.getBlockZ(), pos2.getBlockZ());
+        int x2 = Math.max(pos1.getBlockX(), pos2.getBlockX());
+        int z2 = Math.max(pos1.getBlockZ(), pos2.getBlockZ());
+
+        return databaseExecutor.write(() -> {
+            try {
+                return insertSubClaim(owner, isAdmin, parentLandIdOrName, worldName, x1, z1, x2, z2, name);
+            } catch (SubClaimException e) {
+                throw new CompletionException(e);
+            }
+        });
+    }
+
+    /**
+     * Validates and inserts a sub-claim. Runs on the writer thread.
+     *
+     * @param owner              The land owner
+     * @param isAdmin            Whether the owner has admin permissions
+     * @param parentLandIdOrName The ID or name of the parent land
+     * @param worldName          The world of the selection
+     * @param x1                 The minimum X coordinate
+     * @param z1                 The minimum Z coordinate
+     * @param x2                 The maximum X coordinate
+     * @param z2                 The maximum Z coordinate
+     * @param name               The name of the sub-claim (optional)
+     * @return The created sub-claim
+     * @throws SubClaimException if the sub-claim cannot be created
      */
-    public Land createSubClaim(org.bukkit.entity.Player owner, String parentLandIdOrName, Location pos1, Location pos2, String name) throws SubClaimException {
+    private Land insertSubClaim(org.bukkit.entity.Player owner, boolean isAdmin, String parentLandIdOrName, String worldName,
+                                int x1, int z1, int x2, int z2, String name) throws SubClaimException {
         try {
             // Get the parent land
             Optional<Land> parentLandOpt = getLandByIdOrName(parentLandIdOrName);
@@ -667,8 +784,7 @@ public class LandManager {
             int parentId = parentLand.getId();
             
             // Get owner from database
-            Optional<io.github.railgun19457.easyland.model.Player> dbPlayerOpt = playerDAO.getPlayerByUuid(
-                owner.getUniqueId());
+            Optional<io.github.railgun19457.easyland.model.Player> dbPlayerOpt = playerSessionCache.getPlayer(owner);
             if (!dbPlayerOpt.isPresent()) {
                 throw new SubClaimException("Player not found in database");
             }
@@ -676,7 +792,6 @@ public class LandManager {
             io.github.railgun19457.easyland.model.Player dbPlayer = dbPlayerOpt.get();
             
             // Check if player owns the parent land or is admin
-            boolean isAdmin = owner.hasPermission("easyland.admin") || owner.hasPermission("easyland.admin.manage");
             if (parentLand.getOwnerId() != dbPlayer.getId() && !isAdmin) {
                 throw new SubClaimException("You do not own the parent land");
             }
@@ -687,16 +802,10 @@ public class LandManager {
             }
 
             // Validate positions
-            if (!pos1.getWorld().equals(pos2.getWorld()) || !pos1.getWorld().getName().equals(parentLand.getWorld())) {
+            if (!worldName.equals(parentLand.getWorld())) {
                 throw new SubClaimException("Sub-claim must be in the same world as the parent land");
             }
 
-            // Calculate sub-claim coordinates
-            int x1 = Math.min(pos1.getBlockX(), pos2.getBlockX());
-            int z1 = Math.min(pos1.getBlockZ(), pos2.getBlockZ());
-            int x2 = Math.max(pos1.getBlockX(), pos2.getBlockX());
-            int z2 = Math.max(pos1.getBlockZ(), pos2.getBlockZ());
-            
             // Check if sub-claim is within parent land boundaries
             if (x1 < parentLand.getX1() || x2 > parentLand.getX2() ||
                 z1 < parentLand.getZ1() || z2 > parentLand.getZ2()) {
@@ -705,7 +814,7 @@ public class LandManager {
 
             // Check for overlapping lands (excluding parent and its ancestors)
             List<Land> overlappingLands = landDAO.getOverlappingLands(
-                pos1.getWorld().getName(), x1, z1, x2, z2);
+                worldName, x1, z1, x2, z2);
             
             // Build set of allowed parent IDs (ancestors)
             Set<Integer> allowedParents = new HashSet<>();
@@ -727,18 +836,24 @@ public class LandManager {
                 }
             }
 
+            // The name was checked before submitting, but another command may have taken it since
+            if (name != null && landDAO.getLandByName(name).isPresent()) {
+                throw new SubClaimException("Land name already exists: " + name);
+            }
+
             // Create the sub-claim using Builder pattern
             Land subClaim = Land.builder()
                 .name(name)
-                .world(pos1.getWorld().getName())
+                .world(worldName)
                 .coordinates(x1, z1, x2, z2)
                 .ownerId(0) // Unowned, waiting to be claimed
                 .parentLandId(parentId)
+                .flags(getDefaultFlags())
                 .build();
             landDAO.createLand(subClaim);
             
-            // Invalidate cache for the affected area
-            landCache.invalidateCacheInArea(subClaim.getWorld(), subClaim.getX1(), subClaim.getZ1(), subClaim.getX2(), subClaim.getZ2());
+            // Add the new sub-claim to the spatial index
+            landCache.addLand(subClaim);
             
             logger.info("Created sub-claim " + subClaim.getId() + " for player " + owner.getName() + " under parent land " + parentLandIdOrName);
             return subClaim;
@@ -825,6 +940,19 @@ public class LandManager {
         return permissionManager.hasLandPermission(player, land, action);
     }
 
+    /**
+     * Gets the default value of every flag from the config, used for newly created lands.
+     *
+     * @return A map of every flag to its configured default
+     */
+    private java.util.Map<io.github.railgun19457.easyland.model.LandFlag, Boolean> getDefaultFlags() {
+        java.util.Map<io.github.railgun19457.easyland.model.LandFlag, Boolean> defaultFlags = new java.util.EnumMap<>(io.github.railgun19457.easyland.model.LandFlag.class);
+        for (io.github.railgun19457.easyland.model.LandFlag flag : io.github.railgun19457.easyland.model.LandFlag.values()) {
+            defaultFlags.put(flag, configManager.getDefaultRuleValue(flag.getName()));
+        }
+        return defaultFlags;
+    }
+
     /**
      * Gets the land at a specific location.
      *
@@ -835,6 +963,18 @@ public class LandManager {
         // Use cache to get land at location
         return landCache.getLandAt(location);
     }
+
+    /**
+     * Gets the land at the given block coordinates without creating a Location.
+     *
+     * @param worldName The world name
+     * @param x         The block X coordinate
+     * @param z         The block Z coordinate
+     * @return The land at the coordinates, or null if no land exists
+     */
+    public Land getLandAt(String worldName, int x, int z) {
+        return landCache.getLandAt(worldName, x, z);
+    }
     
     /**
      * Gets a land by its ID.
@@ -881,6 +1021,37 @@ public class LandManager {
         }
     }
     
+    /**
+     * Gets the nearest land to a location on the reader pool.
+     * The coordinates are read on the calling thread.
+     *
+     * @param location The location to check
+     * @return A future completed with the nearest land if found, otherwise empty
+     */
+    public CompletableFuture<Optional<Land>> getNearestLandAsync(Location location) {
+        String worldName = location.getWorld().getName();
+        int x = location.getBlockX();
+        int z = location.getBlockZ();
+        return databaseExecutor.read(() -> {
+            try {
+                return landDAO.getNearestLand(worldName, x, z);
+            } catch (SQLException e) {
+                logger.severe("Failed to get nearest land: " + e.getMessage());
+                return Optional.empty();
+            }
+        });
+    }
+
+    /**
+     * Gets all lands from the in-memory index without touching the database.
+     * Suitable for latency-sensitive callers on the server thread such as tab completion.
+     *
+     * @return A list of all indexed lands
+     */
+    public List<Land> getCachedLands() {
+        return landCache.getSnapshot().getAllLands();
+    }
+
     /**
      * Gets all lands in the database.
      *
@@ -953,6 +1124,16 @@ public class LandManager {
         return getLandByName(landIdOrName);
     }
 
+    /**
+     * Gets a land by ID or name on the reader pool.
+     *
+     * @param landIdOrName The ID or Name of the land
+     * @return A future completed with the land if found, otherwise empty
+     */
+    public CompletableFuture<Optional<Land>> getLandByIdOrNameAsync(String landIdOrName) {
+        return databaseExecutor.read(() -> getLandByIdOrName(landIdOrName));
+    }
+
     /**
      * 获取并验证玩家是否为领地的所有者。
      *
@@ -973,8 +1154,7 @@ public class LandManager {
             Land land = landOpt.get();
             
             // 从数据库获取玩家
-            Optional<io.github.railgun19457.easyland.model.Player> dbPlayerOpt = playerDAO.getPlayerByUuid(
-                player.getUniqueId());
+            Optional<io.github.railgun19457.easyland.model.Player> dbPlayerOpt = playerSessionCache.getPlayer(player);
             if (!dbPlayerOpt.isPresent()) {
                 logger.info("Player not found in database: " + player.getName());
                 return null;
@@ -999,12 +1179,15 @@ public class LandManager {
     /**
      * 获取并验证玩家是否为领地的所有者或管理员。
      *
+     * 在数据库线程中调用，管理员权限需要事先在主线程上检查。
+     *
      * @param player 要验证的玩家
+     * @param isAdmin 玩家是否为管理员
      * @param landIdOrName 领地ID或名称
      * @return 如果验证通过返回领地对象
      * @throws LandNotFoundException 如果领地不存在
      */
-    private Land getAndVerifyLandOwnerOrAdmin(org.bukkit.entity.Player player, String landIdOrName) throws LandNotFoundException {
+    private Land getAndVerifyLandOwnerOrAdmin(org.bukkit.entity.Player player, boolean isAdmin, String landIdOrName) throws LandNotFoundException {
         // 获取领地
         Optional<Land> landOpt = getLandByIdOrName(landIdOrName);
         if (!landOpt.isPresent()) {
@@ -1013,10 +1196,19 @@ public class LandManager {
         }
 
         Land land = landOpt.get();
+        if (isAdmin) {
+            return land;
+        }
         
-        // 使用PermissionManager检查是否可以管理领地
-        if (!permissionManager.canManageLand(player, land)) {
-            logger.info("Player does not own land and is not admin: " + landIdOrName);
+        try {
+            // 玩家ID来自会话缓存，不调用 Bukkit 的权限接口
+            Optional<io.github.railgun19457.easyland.model.Player> dbPlayerOpt = playerSessionCache.getPlayer(player);
+            if (!dbPlayerOpt.isPresent() || land.getOwnerId() != dbPlayerOpt.get().getId()) {
+                logger.info("Player does not own land and is not admin: " + landIdOrName);
+                return null;
+            }
+        } catch (SQLException e) {
+            logger.severe("Failed to verify land owner: " + e.getMessage());
             return null;
         }
         
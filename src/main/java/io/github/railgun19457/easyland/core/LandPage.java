@@ -0,0 +1,43 @@
+package io.github.railgun19457.easyland.core;
+
+import io.github.railgun19457.easyland.model.LandSummary;
+
+import java.util.List;
+
+/**
+ * 一页领地列表及其总数。
+ */
+public class LandPage {
+    private static final LandPage EMPTY = new LandPage(List.of(), 0);
+
+    private final List<LandSummary> lands;
+    private final int totalLands;
+
+    /**
+     * 构造函数。
+     *
+     * @param lands      当前页的领地摘要
+     * @param totalLands 所有页的领地总数
+     */
+    public LandPage(List<LandSummary> lands, int totalLands) {
+        this.lands = lands;
+        this.totalLands = totalLands;
+    }
+
+    /**
+     * 获取空页。
+     *
+     * @return 没有任何领地的页
+     */
+    public static LandPage empty() {
+        return EMPTY;
+    }
+
+    public List<LandSummary> getLands() {
+        return lands;
+    }
+
+    public int getTotalLands() {
+        return totalLands;
+    }
+}
@@ -0,0 +1,594 @@
+package io.github.railgun19457.easyland.core;
+
+import io.github.railgun19457.easyland.model.Land;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * 单个世界内所有领地矩形的 R 树空间索引。
+ * 启动时使用 STR（Sort-Tile-Recursive）批量构建，运行时支持单个领地的插入、删除和替换。
+ * 坐标查询完全在内存中完成，平均复杂度为 O(log n)。
+ * 树是持久化（不可变）的：插入、删除和替换不修改原树，而是复制从根到被修改叶子的路径上的节点，
+ * 返回与原树共享其余节点的新树。因此已发布的树可以被任意线程无锁并发读取。
+ */
+final class LandRTree {
+    // 每个节点的最大/最小条目数
+    private static final int MAX_ENTRIES = 16;
+    private static final int MIN_ENTRIES = 6;
+
+    /**
+     * R 树节点。叶子节点的条目为 {@link Land}，内部节点的条目为子 {@link Node}。
+     */
+    private static final class Node {
+        final boolean leaf;
+        final Object[] entries = new Object[MAX_ENTRIES + 1];
+        int size;
+        int minX;
+        int minZ;
+        int maxX;
+        int maxZ;
+
+        Node(boolean leaf) {
+            this.leaf = leaf;
+        }
+
+        /**
+         * 复制节点本身（不复制子节点），用于路径复制。
+         */
+        Node copy() {
+            Node copy = new Node(leaf);
+            System.arraycopy(entries, 0, copy.entries, 0, size);
+            copy.size = size;
+            copy.minX = minX;
+            copy.minZ = minZ;
+            copy.maxX = maxX;
+            copy.maxZ = maxZ;
+            return copy;
+        }
+
+        void add(Object entry) {
+            if (size == 0) {
+                minX = minX(entry);
+                minZ = minZ(entry);
+                maxX = maxX(entry);
+                maxZ = maxZ(entry);
+            } else {
+                minX = Math.min(minX, minX(entry));
+                minZ = Math.min(minZ, minZ(entry));
+                maxX = Math.max(maxX, maxX(entry));
+                maxZ = Math.max(maxZ, maxZ(entry));
+            }
+            entries[size++] = entry;
+        }
+
+        void removeAt(int index) {
+            System.arraycopy(entries, index + 1, entries, index, size - index - 1);
+            entries[--size] = null;
+        }
+
+        void clear() {
+            Arrays.fill(entries, 0, size, null);
+            size = 0;
+        }
+
+        void recalculateBounds() {
+            if (size == 0) {
+                return;
+            }
+            minX = minX(entries[0]);
+            minZ = minZ(entries[0]);
+            maxX = maxX(entries[0]);
+            maxZ = maxZ(entries[0]);
+            for (int i = 1; i < size; i++) {
+                minX = Math.min(minX, minX(entries[i]));
+                minZ = Math.min(minZ, minZ(entries[i]));
+                maxX = Math.max(maxX, maxX(entries[i]));
+                maxZ = Math.max(maxZ, maxZ(entries[i]));
+            }
+        }
+
+        boolean contains(int x, int z) {
+            return x >= minX && x <= maxX && z >= minZ && z <= maxZ;
+        }
+
+        boolean intersects(int x1, int z1, int x2, int z2) {
+            return !(maxX < x1 || minX > x2 || maxZ < z1 || minZ > z2);
+        }
+
+        boolean covers(Land land) {
+            return land.getX1() >= minX && land.getX2() <= maxX && land.getZ1() >= minZ && land.getZ2() <= maxZ;
+        }
+    }
+
+    private final Node root;
+    private final int size;
+
+    /**
+     * 创建一棵空树。
+     */
+    LandRTree() {
+        this(new Node(true), 0);
+    }
+
+    private LandRTree(Node root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    /**
+     * 使用 STR 算法批量构建 R 树。
+     *
+     * @param lands 同一世界内的所有领地
+     * @return 构建好的 R 树
+     */
+    static LandRTree bulkLoad(List<Land> lands) {
+        if (lands.isEmpty()) {
+            return new LandRTree();
+        }
+
+        List<Object> level = new ArrayList<>(lands);
+        boolean leaf = true;
+        do {
+            level = packLevel(level, leaf);
+            leaf = false;
+        } while (level.size() > 1);
+
+        return new LandRTree((Node) level.get(0), lands.size());
+    }
+
+    /**
+     * 将一层条目按 STR 方式打包为上一层节点。
+     */
+    private static List<Object> packLevel(List<Object> entries, boolean leaf) {
+        int count = entries.size();
+        int nodeCount = (count + MAX_ENTRIES - 1) / MAX_ENTRIES;
+        int sliceCount = (int) Math.ceil(Math.sqrt(nodeCount));
+        int sliceSize = sliceCount * MAX_ENTRIES;
+
+        entries.sort(Comparator.comparingLong(LandRTree::centerX));
+
+        List<Object> nodes = new ArrayList<>(nodeCount);
+        for (int sliceStart = 0; sliceStart < count; sliceStart += sliceSize) {
+            List<Object> slice = new ArrayList<>(entries.subList(sliceStart, Math.min(sliceStart + sliceSize, count)));
+            slice.sort(Comparator.comparingLong(LandRTree::centerZ));
+
+            for (int i = 0; i < slice.size(); i += MAX_ENTRIES) {
+                Node node = new Node(leaf);
+                int end = Math.min(i + MAX_ENTRIES, slice.size());
+                for (int j = i; j < end; j++) {
+                    node.add(slice.get(j));
+                }
+                nodes.add(node);
+            }
+        }
+        return nodes;
+    }
+
+    /**
+     * 获取树中领地的数量。
+     *
+     * @return 领地数量
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * 查找包含指定坐标的最具体领地。
+     * 面积小的领地优先（通常是子领地），面积相同时子领地优先。
+     *
+     * @param x 方块 X 坐标
+     * @param z 方块 Z 坐标
+     * @return 包含该坐标的领地，如果没有则返回 null
+     */
+    Land findAt(int x, int z) {
+        if (size == 0 || !root.contains(x, z)) {
+            return null;
+        }
+        return findAt(root, x, z, null);
+    }
+
+    private static Land findAt(Node node, int x, int z, Land best) {
+        for (int i = 0; i < node.size; i++) {
+            if (node.leaf) {
+                Land land = (Land) node.entries[i];
+                if (land.contains(x, z) && (best == null || isPreferred(land, best))) {
+                    best = land;
+                }
+            } else {
+                Node child = (Node) node.entries[i];
+                if (child.contains(x, z)) {
+                    best = findAt(child, x, z, best);
+                }
+            }
+        }
+        return best;
+    }
+
+    /**
+     * 查找与指定区域重叠的所有领地。
+     *
+     * @param x1 区域最小 X 坐标
+     * @param z1 区域最小 Z 坐标
+     * @param x2 区域最大 X 坐标
+     * @param z2 区域最大 Z 坐标
+     * @return 重叠的领地列表
+     */
+    List<Land> findOverlapping(int x1, int z1, int x2, int z2) {
+        List<Land> result = new ArrayList<>();
+        if (size > 0 && root.intersects(x1, z1, x2, z2)) {
+            findOverlapping(root, x1, z1, x2, z2, result);
+        }
+        return result;
+    }
+
+    private static void findOverlapping(Node node, int x1, int z1, int x2, int z2, List<Land> result) {
+        for (int i = 0; i < node.size; i++) {
+            if (node.leaf) {
+                Land land = (Land) node.entries[i];
+                if (!(land.getX2() < x1 || land.getX1() > x2 || land.getZ2() < z1 || land.getZ1() > z2)) {
+                    result.add(land);
+                }
+            } else {
+                Node child = (Node) node.entries[i];
+                if (child.intersects(x1, z1, x2, z2)) {
+                    findOverlapping(child, x1, z1, x2, z2, result);
+                }
+            }
+        }
+    }
+
+    /**
+     * 检查是否有任何领地与指定区域重叠，找到第一个即返回，不分配对象。
+     *
+     * @param x1 区域最小 X 坐标
+     * @param z1 区域最小 Z 坐标
+     * @param x2 区域最大 X 坐标
+     * @param z2 区域最大 Z 坐标
+     * @return 如果存在重叠的领地返回 true，否则返回 false
+     */
+    boolean intersectsAny(int x1, int z1, int x2, int z2) {
+        return size > 0 && root.intersects(x1, z1, x2, z2) && intersectsAny(root, x1, z1, x2, z2);
+    }
+
+    private static boolean intersectsAny(Node node, int x1, int z1, int x2, int z2) {
+        for (int i = 0; i < node.size; i++) {
+            if (node.leaf) {
+                Land land = (Land) node.entries[i];
+                if (!(land.getX2() < x1 || land.getX1() > x2 || land.getZ2() < z1 || land.getZ1() > z2)) {
+                    return true;
+                }
+            } else {
+                Node child = (Node) node.entries[i];
+                if (child.intersects(x1, z1, x2, z2) && intersectsAny(child, x1, z1, x2, z2)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 插入一个领地，返回包含该领地的新树，原树不变。
+     *
+     * @param land 要插入的领地
+     * @return 新树
+     */
+    LandRTree insert(Land land) {
+        return new LandRTree(insertLand(root, land), size + 1);
+    }
+
+    /**
+     * 将领地插入以 root 为根的树，返回新的根节点。
+     */
+    private static Node insertLand(Node root, Land land) {
+        Node newRoot = root.copy();
+        Node sibling = insert(newRoot, land);
+        if (sibling == null) {
+            return newRoot;
+        }
+        Node grownRoot = new Node(false);
+        grownRoot.add(newRoot);
+        grownRoot.add(sibling);
+        return grownRoot;
+    }
+
+    /**
+     * 将领地插入一个新复制的节点。下降前先复制被选中的子节点，已有节点不会被修改。
+     * 节点溢出时就地分裂，返回新的兄弟节点，否则返回 null。
+     */
+    private static Node insert(Node node, Land land) {
+        if (node.leaf) {
+            node.add(land);
+        } else {
+            int index = chooseSubtree(node, land);
+            Node child = ((Node) node.entries[index]).copy();
+            node.entries[index] = child;
+            Node sibling = insert(child, land);
+            if (sibling != null) {
+                node.entries[node.size++] = sibling;
+            }
+            node.recalculateBounds();
+        }
+        return node.size > MAX_ENTRIES ? split(node) : null;
+    }
+
+    /**
+     * 选择插入后面积增量最小的子节点，增量相同时选择面积较小的。
+     *
+     * @return 子节点在 entries 中的下标
+     */
+    private static int chooseSubtree(Node node, Land land) {
+        int best = -1;
+        long bestEnlargement = Long.MAX_VALUE;
+        long bestArea = Long.MAX_VALUE;
+        for (int i = 0; i < node.size; i++) {
+            Node child = (Node) node.entries[i];
+            long area = area(child.minX, child.minZ, child.maxX, child.maxZ);
+            long enlarged = area(Math.min(child.minX, land.getX1()), Math.min(child.minZ, land.getZ1()),
+                    Math.max(child.maxX, land.getX2()), Math.max(child.maxZ, land.getZ2()));
+            long enlargement = enlarged - area;
+            if (enlargement < bestEnlargement || (enlargement == bestEnlargement && area < bestArea)) {
+                best = i;
+                bestEnlargement = enlargement;
+                bestArea = area;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * 使用二次分裂算法拆分溢出的节点（必须是新复制的节点）。
+     * 原节点保留一组条目，返回包含另一组条目的新兄弟节点。
+     */
+    private static Node split(Node node) {
+        int count = node.size;
+        Object[] all = Arrays.copyOf(node.entries, count);
+
+        // 选择合并后浪费面积最大的一对条目作为种子
+        int seedA = 0;
+        int seedB = 1;
+        long worstWaste = Long.MIN_VALUE;
+        for (int i = 0; i < count - 1; i++) {
+            for (int j = i + 1; j < count; j++) {
+                long waste = unionArea(all[i], all[j]) - area(all[i]) - area(all[j]);
+                if (waste > worstWaste) {
+                    worstWaste = waste;
+                    seedA = i;
+                    seedB = j;
+                }
+            }
+        }
+
+        Node sibling = new Node(node.leaf);
+        node.clear();
+        node.add(all[seedA]);
+        sibling.add(all[seedB]);
+
+        boolean[] assigned = new boolean[count];
+        assigned[seedA] = true;
+        assigned[seedB] = true;
+        int remaining = count - 2;
+
+        while (remaining > 0) {
+            // 保证两组都至少有最小条目数
+            if (node.size + remaining == MIN_ENTRIES || sibling.size + remaining == MIN_ENTRIES) {
+                Node target = node.size + remaining == MIN_ENTRIES ? node : sibling;
+                for (int i = 0; i < count; i++) {
+                    if (!assigned[i]) {
+                        target.add(all[i]);
+                        assigned[i] = true;
+                    }
+                }
+                break;
+            }
+
+            // 选择对两组偏好差异最大的条目
+            int next = -1;
+            long nextDiff = -1;
+            long nextGrowA = 0;
+            long nextGrowB = 0;
+            for (int i = 0; i < count; i++) {
+                if (assigned[i]) {
+                    continue;
+                }
+                long growA = enlargement(node, all[i]);
+                long growB = enlargement(sibling, all[i]);
+                long diff = Math.abs(growA - growB);
+                if (diff > nextDiff) {
+                    next = i;
+                    nextDiff = diff;
+                    nextGrowA = growA;
+                    nextGrowB = growB;
+                }
+            }
+
+            Node target;
+            if (nextGrowA != nextGrowB) {
+                target = nextGrowA < nextGrowB ? node : sibling;
+            } else {
+                long areaA = area(node.minX, node.minZ, node.maxX, node.maxZ);
+                long areaB = area(sibling.minX, sibling.minZ, sibling.maxX, sibling.maxZ);
+                if (areaA != areaB) {
+                    target = areaA < areaB ? node : sibling;
+                } else {
+                    target = node.size <= sibling.size ? node : sibling;
+                }
+            }
+            target.add(all[next]);
+            assigned[next] = true;
+            remaining--;
+        }
+
+        return sibling;
+    }
+
+    /**
+     * 删除一个领地，返回不包含该领地的新树，原树不变。
+     *
+     * @param land 要删除的领地（必须使用树中记录的坐标）
+     * @return 新树，如果树中没有该领地则返回 null
+     */
+    LandRTree remove(Land land) {
+        List<Land> orphans = new ArrayList<>();
+        Node newRoot = size > 0 ? remove(root, land, orphans) : null;
+        if (newRoot == null) {
+            return null;
+        }
+
+        // 收缩只有一个子节点的根
+        while (!newRoot.leaf && newRoot.size == 1) {
+            newRoot = (Node) newRoot.entries[0];
+        }
+        if (!newRoot.leaf && newRoot.size == 0) {
+            newRoot = new Node(true);
+        }
+
+        // 重新插入因节点下溢而被移除的领地
+        for (Land orphan : orphans) {
+            newRoot = insertLand(newRoot, orphan);
+        }
+        return new LandRTree(newRoot, size - 1);
+    }
+
+    /**
+     * 从子树中删除领地，返回复制后的新子树根节点；未找到时返回 null，且不复制任何节点。
+     * 返回的节点可能下溢，由调用方处理。
+     */
+    private static Node remove(Node node, Land land, List<Land> orphans) {
+        if (node.leaf) {
+            for (int i = 0; i < node.size; i++) {
+                if (((Land) node.entries[i]).getId() == land.getId()) {
+                    Node copy = node.copy();
+                    copy.removeAt(i);
+                    copy.recalculateBounds();
+                    return copy;
+                }
+            }
+            return null;
+        }
+
+        for (int i = 0; i < node.size; i++) {
+            Node child = (Node) node.entries[i];
+            if (!child.covers(land)) {
+                continue;
+            }
+            Node newChild = remove(child, land, orphans);
+            if (newChild != null) {
+                Node copy = node.copy();
+                if (newChild.size < MIN_ENTRIES) {
+                    copy.removeAt(i);
+                    collectLands(newChild, orphans);
+                } else {
+                    copy.entries[i] = newChild;
+                }
+                copy.recalculateBounds();
+                return copy;
+            }
+        }
+        return null;
+    }
+
+    private static void collectLands(Node node, List<Land> result) {
+        for (int i = 0; i < node.size; i++) {
+            if (node.leaf) {
+                result.add((Land) node.entries[i]);
+            } else {
+                collectLands((Node) node.entries[i], result);
+            }
+        }
+    }
+
+    /**
+     * 用新的领地对象替换树中同 ID 的领地，要求两者坐标相同。
+     * 只复制从根到该领地所在叶子的路径，返回新树，原树不变。
+     *
+     * @param land 新的领地对象
+     * @return 新树，如果树中没有该领地则返回 null
+     */
+    LandRTree replace(Land land) {
+        Node newRoot = size > 0 ? replace(root, land) : null;
+        return newRoot != null ? new LandRTree(newRoot, size) : null;
+    }
+
+    private static Node replace(Node node, Land land) {
+        for (int i = 0; i < node.size; i++) {
+            Object replacement = null;
+            if (node.leaf) {
+                if (((Land) node.entries[i]).getId() == land.getId()) {
+                    replacement = land;
+                }
+            } else {
+                Node child = (Node) node.entries[i];
+                if (child.covers(land)) {
+                    replacement = replace(child, land);
+                }
+            }
+            if (replacement != null) {
+                Node copy = node.copy();
+                copy.entries[i] = replacement;
+                return copy;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 判断候选领地是否比当前领地更具体。
+     * 面积小的优先，面积相同时子领地优先。
+     */
+    static boolean isPreferred(Land candidate, Land current) {
+        int candidateArea = candidate.getArea();
+        int currentArea = current.getArea();
+        if (candidateArea != currentArea) {
+            return candidateArea < currentArea;
+        }
+        return candidate.getParentLandId() != null && current.getParentLandId() == null;
+    }
+
+    private static int minX(Object entry) {
+        return entry instanceof Land land ? land.getX1() : ((Node) entry).minX;
+    }
+
+    private static int minZ(Object entry) {
+        return entry instanceof Land land ? land.getZ1() : ((Node) entry).minZ;
+    }
+
+    private static int maxX(Object entry) {
+        return entry instanceof Land land ? land.getX2() : ((Node) entry).maxX;
+    }
+
+    private static int maxZ(Object entry) {
+        return entry instanceof Land land ? land.getZ2() : ((Node) entry).maxZ;
+    }
+
+    private static long centerX(Object entry) {
+        return (long) minX(entry) + maxX(entry);
+    }
+
+    private static long centerZ(Object entry) {
+        return (long) minZ(entry) + maxZ(entry);
+    }
+
+    private static long area(int minX, int minZ, int maxX, int maxZ) {
+        return (maxX - (long) minX + 1) * (maxZ - (long) minZ + 1);
+    }
+
+    private static long area(Object entry) {
+        return area(minX(entry), minZ(entry), maxX(entry), maxZ(entry));
+    }
+
+    private static long unionArea(Object a, Object b) {
+        return area(Math.min(minX(a), minX(b)), Math.min(minZ(a), minZ(b)),
+                Math.max(maxX(a), maxX(b)), Math.max(maxZ(a), maxZ(b)));
+    }
+
+    private static long enlargement(Node node, Object entry) {
+        return area(Math.min(node.minX, minX(entry)), Math.min(node.minZ, minZ(entry)),
+                Math.max(node.maxX, maxX(entry)), Math.max(node.maxZ, maxZ(entry)))
+                - area(node.minX, node.minZ, node.maxX, node.maxZ);
+    }
+}
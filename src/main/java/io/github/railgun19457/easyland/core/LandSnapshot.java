@@ -0,0 +1,210 @@
+package io.github.railgun19457.easyland.core;
+
+import io.github.railgun19457.easyland.model.Land;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 领地索引的不可变版本。
+ * LandCache 在每次领地变更后由当前版本派生出新版本，并通过单个 volatile 引用原子地发布；
+ * 新旧版本共享未变化的 R 树节点和ID表页，每次变更只复制被修改的路径。
+ * 版本发布后不再修改，因此任意线程都可以无锁地读取，且看到的始终是某一时刻的一致视图；
+ * 版本号可用于判断基于旧版本得到的派生缓存是否仍然有效。查询不会访问数据库。
+ */
+public final class LandSnapshot {
+    static final LandSnapshot EMPTY = new LandSnapshot(0L, Map.of(), LandIdTable.EMPTY, 0);
+
+    private final long version;
+    // 格式: worldName -> 该世界的 R 树（不可变）
+    private final Map<String, LandRTree> trees;
+    // 格式: landId -> 领地（不可变）
+    private final LandIdTable landsById;
+    private final int size;
+
+    private LandSnapshot(long version, Map<String, LandRTree> trees, LandIdTable landsById, int size) {
+        this.version = version;
+        this.trees = trees;
+        this.landsById = landsById;
+        this.size = size;
+    }
+
+    /**
+     * 由一组领地构建快照。
+     *
+     * @param version 快照的版本号
+     * @param lands   所有领地
+     * @return 新的快照
+     */
+    static LandSnapshot build(long version, Collection<Land> lands) {
+        Map<String, List<Land>> landsByWorld = new HashMap<>();
+        for (Land land : lands) {
+            landsByWorld.computeIfAbsent(land.getWorld(), k -> new ArrayList<>()).add(land);
+        }
+
+        Map<String, LandRTree> trees = new HashMap<>();
+        for (Map.Entry<String, List<Land>> entry : landsByWorld.entrySet()) {
+            trees.put(entry.getKey(), LandRTree.bulkLoad(entry.getValue()));
+        }
+        return new LandSnapshot(version, trees, LandIdTable.build(lands), lands.size());
+    }
+
+    /**
+     * 返回加入（或替换同 ID 的）领地后的新快照，版本号加一，当前快照不变。
+     * 坐标未变化时只替换树中的对象，否则先删除旧领地再插入新领地。
+     *
+     * @param land 新的领地对象
+     * @return 新快照
+     */
+    LandSnapshot withLand(Land land) {
+        Land previous = landsById.get(land.getId());
+        Map<String, LandRTree> newTrees = new HashMap<>(trees);
+        int newSize = size;
+
+        if (previous != null) {
+            LandRTree tree = newTrees.get(previous.getWorld());
+            LandRTree replaced = tree != null && hasSameGeometry(previous, land) ? tree.replace(land) : null;
+            if (replaced != null) {
+                newTrees.put(land.getWorld(), replaced);
+                return new LandSnapshot(version + 1, newTrees, landsById.with(land.getId(), land), size);
+            }
+            removeFromTree(newTrees, previous);
+            newSize--;
+        }
+
+        newTrees.put(land.getWorld(), newTrees.getOrDefault(land.getWorld(), new LandRTree()).insert(land));
+        return new LandSnapshot(version + 1, newTrees, landsById.with(land.getId(), land), newSize + 1);
+    }
+
+    /**
+     * 返回移除指定领地后的新快照，版本号加一，当前快照不变。
+     *
+     * @param landId 领地ID
+     * @return 新快照
+     */
+    LandSnapshot withoutLand(int landId) {
+        Land previous = landsById.get(landId);
+        if (previous == null) {
+            return new LandSnapshot(version + 1, trees, landsById, size);
+        }
+
+        Map<String, LandRTree> newTrees = new HashMap<>(trees);
+        removeFromTree(newTrees, previous);
+        return new LandSnapshot(version + 1, newTrees, landsById.with(landId, null), size - 1);
+    }
+
+    /**
+     * 从所在世界的树中删除领地，世界内没有领地时移除该世界的树。
+     */
+    private static void removeFromTree(Map<String, LandRTree> trees, Land land) {
+        LandRTree tree = trees.get(land.getWorld());
+        LandRTree removed = tree != null ? tree.remove(land) : null;
+        if (removed == null) {
+            return;
+        }
+        if (removed.size() == 0) {
+            trees.remove(land.getWorld());
+        } else {
+            trees.put(land.getWorld(), removed);
+        }
+    }
+
+    /**
+     * 检查两个领地对象的世界和坐标是否相同。
+     */
+    static boolean hasSameGeometry(Land a, Land b) {
+        return a.getWorld().equals(b.getWorld())
+            && a.getX1() == b.getX1() && a.getZ1() == b.getZ1()
+            && a.getX2() == b.getX2() && a.getZ2() == b.getZ2();
+    }
+
+    /**
+     * 获取快照的版本号，与发布时 {@link LandCache#getVersion()} 的值相同。
+     *
+     * @return 版本号
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * 获取快照中的领地数量。
+     *
+     * @return 领地数量
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * 获取快照中包含领地的世界数量。
+     *
+     * @return 世界数量
+     */
+    int getWorldCount() {
+        return trees.size();
+    }
+
+    /**
+     * 获取指定世界的 R 树。
+     *
+     * @param worldName 世界名称
+     * @return 该世界的 R 树，如果世界内没有领地则返回 null
+     */
+    LandRTree getTree(String worldName) {
+        return trees.get(worldName);
+    }
+
+    /**
+     * 获取指定世界坐标处最具体的领地。
+     *
+     * @param worldName 世界名称
+     * @param x         方块 X 坐标
+     * @param z         方块 Z 坐标
+     * @return 该位置的领地，如果没有领地则返回 null
+     */
+    public Land getLandAt(String worldName, int x, int z) {
+        LandRTree tree = trees.get(worldName);
+        return tree != null ? tree.findAt(x, z) : null;
+    }
+
+    /**
+     * 根据ID获取领地。
+     *
+     * @param landId 领地ID
+     * @return 领地，如果不存在则返回 null
+     */
+    public Land getLandById(int landId) {
+        return landsById.get(landId);
+    }
+
+    /**
+     * 获取快照中的所有领地。
+     *
+     * @return 所有领地的列表
+     */
+    public List<Land> getAllLands() {
+        List<Land> lands = new ArrayList<>(size);
+        for (LandRTree tree : trees.values()) {
+            lands.addAll(tree.findOverlapping(Integer.MIN_VALUE, Integer.MIN_VALUE, Integer.MAX_VALUE, Integer.MAX_VALUE));
+        }
+        return lands;
+    }
+
+    /**
+     * 获取指定世界内的所有领地。
+     *
+     * @param worldName 世界名称
+     * @return 该世界内的领地列表
+     */
+    public List<Land> getLandsInWorld(String worldName) {
+        LandRTree tree = trees.get(worldName);
+        if (tree == null) {
+            return List.of();
+        }
+        return tree.findOverlapping(Integer.MIN_VALUE, Integer.MIN_VALUE, Integer.MAX_VALUE, Integer.MAX_VALUE);
+    }
+}
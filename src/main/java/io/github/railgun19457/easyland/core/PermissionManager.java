@@ -2,11 +2,9 @@ package io.github.railgun19457.easyland.core;
 
 import io.github.railgun19457.easyland.model.Land;
 import io.github.railgun19457.easyland.model.LandFlag;
-import io.github.railgun19457.easyland.storage.LandTrustDAO;
-import io.github.railgun19457.easyland.storage.PlayerDAO;
+import io.github.railgun19457.easyland.model.LandRole;
 import org.bukkit.entity.Player;
 
-import java.sql.SQLException;
 import java.util.Optional;
 import java.util.logging.Logger;
 
@@ -16,13 +14,13 @@ import java.util.logging.Logger;
  */
 public class PermissionManager {
     private final Logger logger;
-    private final PlayerDAO playerDAO;
-    private final LandTrustDAO landTrustDAO;
+    private final PlayerSessionCache playerSessionCache;
+    private final TrustIndex trustIndex;
 
-    public PermissionManager(Logger logger, PlayerDAO playerDAO, LandTrustDAO landTrustDAO) {
+    public PermissionManager(Logger logger, PlayerSessionCache playerSessionCache, TrustIndex trustIndex) {
         this.logger = logger;
-        this.playerDAO = playerDAO;
-        this.landTrustDAO = landTrustDAO;
+        this.playerSessionCache = playerSessionCache;
+        this.trustIndex = trustIndex;
     }
     
     /**
@@ -68,19 +66,8 @@ public class PermissionManager {
      * @return true如果是所有者，否则false
      */
     public boolean isLandOwner(Player player, Land land) {
-        try {
-            Optional<io.github.railgun19457.easyland.model.Player> dbPlayerOpt = 
-                playerDAO.getPlayerByUuid(player.getUniqueId());
-            
-            if (!dbPlayerOpt.isPresent()) {
-                return false;
-            }
-
-            return land.getOwnerId() == dbPlayerOpt.get().getId();
-        } catch (SQLException e) {
-            logger.severe("检查领地所有权时出错: " + e.getMessage());
-            return false;
-        }
+        Optional<io.github.railgun19457.easyland.model.Player> dbPlayerOpt = getSessionPlayer(player);
+        return dbPlayerOpt.isPresent() && land.getOwnerId() == dbPlayerOpt.get().getId();
     }
 
     /**
@@ -97,28 +84,47 @@ public class PermissionManager {
             return true;
         }
 
-        try {
-            Optional<io.github.railgun19457.easyland.model.Player> dbPlayerOpt = 
-                playerDAO.getPlayerByUuid(player.getUniqueId());
-            
-            if (!dbPlayerOpt.isPresent()) {
-                return false;
-            }
-
-            io.github.railgun19457.easyland.model.Player dbPlayer = dbPlayerOpt.get();
-            
-            // 检查是否是领地所有者
-            if (land.getOwnerId() == dbPlayer.getId()) {
-                return true;
-            }
-            
-            // 检查是否是受信任的玩家
-            return landTrustDAO.isPlayerTrusted(land.getId(), dbPlayer.getId());
-            
-        } catch (SQLException e) {
-            logger.severe("检查领地权限时出错: " + e.getMessage());
-            return false;
+        return getLandRole(player, land) != LandRole.VISITOR;
+    }
+
+    /**
+     * 确定玩家在领地上的角色（所有者、受信任玩家或访客）。
+     * 玩家ID来自会话缓存，信任关系来自内存索引，不会访问数据库。
+     *
+     * @param player 玩家
+     * @param land   领地
+     * @return 玩家的领地角色，会话尚未加载时视为访客
+     */
+    public LandRole getLandRole(Player player, Land land) {
+        Optional<io.github.railgun19457.easyland.model.Player> dbPlayerOpt = getSessionPlayer(player);
+        if (!dbPlayerOpt.isPresent()) {
+            return LandRole.VISITOR;
+        }
+
+        int playerId = dbPlayerOpt.get().getId();
+        if (land.getOwnerId() == playerId) {
+            return LandRole.OWNER;
+        }
+        if (trustIndex.isTrusted(land.getId(), playerId)) {
+            return LandRole.TRUSTED;
+        }
+        return LandRole.VISITOR;
+    }
+
+    /**
+     * 从会话缓存中获取玩家的数据库记录，只读取内存。
+     * 会话缺失时安排后台重新加载，在加载完成前玩家被视为访客。
+     *
+     * @param player 玩家
+     * @return 玩家的数据库记录，会话缺失时返回 Optional.empty()
+     */
+    private Optional<io.github.railgun19457.easyland.model.Player> getSessionPlayer(Player player) {
+        Optional<io.github.railgun19457.easyland.model.Player> dbPlayerOpt =
+            playerSessionCache.getCachedPlayer(player.getUniqueId());
+        if (!dbPlayerOpt.isPresent()) {
+            playerSessionCache.requestReload(player);
         }
+        return dbPlayerOpt;
     }
 
     /**
@@ -0,0 +1,155 @@
+package io.github.railgun19457.easyland.core;
+
+import io.github.railgun19457.easyland.model.Player;
+import io.github.railgun19457.easyland.storage.DatabaseExecutor;
+import io.github.railgun19457.easyland.storage.PlayerDAO;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.logging.Logger;
+
+/**
+ * 玩家数据库ID到玩家名称和 UUID 的内存缓存，用于显示和查询领地主人。
+ * 启动时加载所有领地主人，玩家登录时更新其记录（包括改名），
+ * 使进入领地的提示、API 查询等高频场景无需查询数据库。
+ * 基于 ConcurrentHashMap，可以在任意线程中读取；读取只访问内存，
+ * 缓存未命中时在数据库读线程中异步加载，之后的读取即可命中。
+ */
+public class PlayerNameCache {
+    // 数据库中找不到的玩家在此时间内不再重复查询
+    private static final long MISSING_RETRY_MILLIS = 60_000L;
+
+    private final Logger logger;
+    private final PlayerDAO playerDAO;
+    private final DatabaseExecutor databaseExecutor;
+
+    // 格式: 玩家数据库ID -> 玩家记录
+    private final Map<Integer, Player> playersById;
+    // 正在异步加载的玩家ID
+    private final Set<Integer> pendingLoads;
+    // 格式: 玩家数据库ID -> 上次查询不到的时间
+    private final Map<Integer, Long> missingSince;
+
+    /**
+     * PlayerNameCache 构造函数。
+     *
+     * @param logger    插件日志记录器
+     * @param playerDAO 玩家数据访问对象
+     * @param databaseExecutor 数据库执行器，用于异步加载未缓存的玩家
+     */
+    public PlayerNameCache(Logger logger, PlayerDAO playerDAO, DatabaseExecutor databaseExecutor) {
+        this.logger = logger;
+        this.playerDAO = playerDAO;
+        this.databaseExecutor = databaseExecutor;
+        this.playersById = new ConcurrentHashMap<>();
+        this.pendingLoads = ConcurrentHashMap.newKeySet();
+        this.missingSince = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * 从数据库加载所有领地主人的名称。
+     * 在插件启动和数据迁移完成后调用。
+     */
+    public void loadAll() {
+        try {
+            List<Player> owners = playerDAO.getLandOwners();
+
+            playersById.clear();
+            missingSince.clear();
+            for (Player owner : owners) {
+                playersById.put(owner.getId(), owner);
+            }
+
+            logger.info("已加载 " + owners.size() + " 个领地主人的名称");
+        } catch (SQLException e) {
+            logger.severe("加载领地主人名称时出错: " + e.getMessage());
+        }
+    }
+
+    /**
+     * 记录玩家的当前记录，在玩家登录时调用，以便反映改名。
+     *
+     * @param player 玩家记录
+     */
+    public void update(Player player) {
+        playersById.put(player.getId(), player);
+        missingSince.remove(player.getId());
+    }
+
+    /**
+     * 获取已缓存的玩家名称。
+     * 只读取内存，不会访问数据库，可以在任意线程中调用。
+     * 缓存未命中时返回 null，并在后台加载该玩家以便之后的调用命中。
+     *
+     * @param playerId 玩家数据库ID
+     * @return 玩家名称，如果未缓存则返回 null
+     */
+    public String getName(int playerId) {
+        Player player = playersById.get(playerId);
+        if (player == null) {
+            scheduleLoad(playerId);
+            return null;
+        }
+        return player.getName();
+    }
+
+    /**
+     * 获取已缓存的玩家 UUID。
+     * 只读取内存，不会访问数据库，可以在任意线程中调用。
+     * 缓存未命中时返回 null，并在后台加载该玩家以便之后的调用命中。
+     *
+     * @param playerId 玩家数据库ID
+     * @return 玩家 UUID，如果未缓存则返回 null
+     */
+    public UUID getUuid(int playerId) {
+        Player player = playersById.get(playerId);
+        if (player == null) {
+            scheduleLoad(playerId);
+            return null;
+        }
+        return player.getUuid();
+    }
+
+    /**
+     * 在数据库读线程中加载玩家记录。
+     * 同一玩家同时只有一个加载任务，查询不到的玩家在一段时间后才会重试。
+     *
+     * @param playerId 玩家数据库ID
+     */
+    private void scheduleLoad(int playerId) {
+        Long missing = missingSince.get(playerId);
+        if (missing != null && System.currentTimeMillis() - missing < MISSING_RETRY_MILLIS) {
+            return;
+        }
+        if (!pendingLoads.add(playerId)) {
+            return;
+        }
+
+        try {
+            databaseExecutor.read(() -> {
+                try {
+                    Optional<Player> player = playerDAO.getPlayerById(playerId);
+                    if (player.isPresent()) {
+                        update(player.get());
+                    } else {
+                        missingSince.put(playerId, System.currentTimeMillis());
+                    }
+                } catch (SQLException e) {
+                    logger.warning("查询玩家 " + playerId + " 的名称时出错: " + e.getMessage());
+                } finally {
+                    pendingLoads.remove(playerId);
+                }
+                return null;
+            });
+        } catch (RejectedExecutionException e) {
+            // 插件正在关闭，数据库执行器不再接受任务
+            pendingLoads.remove(playerId);
+        }
+    }
+}
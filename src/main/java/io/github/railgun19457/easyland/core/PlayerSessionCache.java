@@ -0,0 +1,185 @@
+package io.github.railgun19457.easyland.core;
+
+import io.github.railgun19457.easyland.model.Player;
+import io.github.railgun19457.easyland.storage.DatabaseExecutor;
+import io.github.railgun19457.easyland.storage.PlayerDAO;
+
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.logging.Logger;
+
+/**
+ * 在线玩家的数据库记录缓存。
+ * 玩家登录前在异步线程中写入或更新 players 表并缓存其数据库ID和名称，
+ * 退出时移除，使权限检查无需在主线程上按 UUID 查询数据库。
+ */
+public class PlayerSessionCache {
+    // 同一玩家的后台重新加载之间的最短间隔
+    private static final long RELOAD_RETRY_MILLIS = 5_000L;
+
+    private final Logger logger;
+    private final PlayerDAO playerDAO;
+    private final PlayerNameCache playerNameCache;
+    private final DatabaseExecutor databaseExecutor;
+
+    // 格式: UUID -> 数据库玩家记录
+    private final Map<UUID, Player> sessions;
+    // 格式: UUID -> 上次开始后台重新加载的时间
+    private final Map<UUID, Long> reloadAttempts;
+
+    /**
+     * PlayerSessionCache 构造函数。
+     *
+     * @param logger    插件日志记录器
+     * @param playerDAO 玩家数据访问对象
+     * @param playerNameCache 玩家名称缓存，登录时同步玩家的当前名称
+     * @param databaseExecutor 数据库执行器，用于在后台重新加载缺失的会话
+     */
+    public PlayerSessionCache(Logger logger, PlayerDAO playerDAO, PlayerNameCache playerNameCache,
+                              DatabaseExecutor databaseExecutor) {
+        this.logger = logger;
+        this.playerDAO = playerDAO;
+        this.playerNameCache = playerNameCache;
+        this.databaseExecutor = databaseExecutor;
+        this.sessions = new ConcurrentHashMap<>();
+        this.reloadAttempts = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * 写入或更新玩家记录、刷新最后在线时间并加入缓存，同时更新名称缓存。
+     * 会访问数据库，应在异步线程中调用（例如 AsyncPlayerPreLoginEvent）。
+     *
+     * @param uuid 玩家 UUID
+     * @param name 玩家名称
+     */
+    public void loadSession(UUID uuid, String name) {
+        try {
+            Player player = playerDAO.getOrCreatePlayer(uuid, name);
+            playerDAO.updateLastSeen(player.getId());
+            sessions.put(uuid, player);
+            playerNameCache.update(player);
+        } catch (SQLException e) {
+            logger.warning("加载玩家 " + name + " 的数据时出错: " + e.getMessage());
+        }
+    }
+
+    /**
+     * 移除玩家的缓存记录，在玩家退出或登录被拒绝时调用。
+     *
+     * @param uuid 玩家 UUID
+     */
+    public void removeSession(UUID uuid) {
+        sessions.remove(uuid);
+        reloadAttempts.remove(uuid);
+    }
+
+    /**
+     * 在数据库写线程中重新加载在线玩家的会话，用于会话缺失（例如登录时加载失败）的情况。
+     * 可以在主线程中调用；同一玩家在短时间内只会重新加载一次。
+     *
+     * @param player Bukkit 玩家
+     */
+    public void requestReload(org.bukkit.entity.Player player) {
+        UUID uuid = player.getUniqueId();
+        String name = player.getName();
+        long now = System.currentTimeMillis();
+        Long lastAttempt = reloadAttempts.get(uuid);
+        if (lastAttempt != null && now - lastAttempt < RELOAD_RETRY_MILLIS) {
+            return;
+        }
+        reloadAttempts.put(uuid, now);
+
+        try {
+            databaseExecutor.write(() -> {
+                loadSession(uuid, name);
+                // 加载期间玩家已退出时不保留会话
+                if (!player.isOnline()) {
+                    removeSession(uuid);
+                }
+                return null;
+            });
+        } catch (RejectedExecutionException e) {
+            // 插件正在关闭，数据库执行器不再接受任务
+            reloadAttempts.remove(uuid);
+        }
+    }
+
+    /**
+     * 获取在线玩家的数据库记录。
+     * 缓存未命中时（例如插件重载后）回退到数据库查询，并在玩家仍在线时补充缓存，同时更新名称缓存。
+     *
+     * @param player Bukkit 玩家
+     * @return 数据库玩家记录，如果不存在则返回 Optional.empty()
+     * @throws SQLException 如果数据库操作失败
+     */
+    public Optional<Player> getPlayer(org.bukkit.entity.Player player) throws SQLException {
+        Player cached = sessions.get(player.getUniqueId());
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+
+        Optional<Player> dbPlayer = playerDAO.getPlayerByUuid(player.getUniqueId());
+        if (dbPlayer.isPresent()) {
+            playerNameCache.update(dbPlayer.get());
+            if (player.isOnline()) {
+                sessions.put(player.getUniqueId(), dbPlayer.get());
+            }
+        }
+        return dbPlayer;
+    }
+
+    /**
+     * 获取已缓存的在线玩家记录。
+     * 只读取内存，不会访问数据库，适合 Tab 补全等主线程上的高频调用。
+     *
+     * @param uuid 玩家 UUID
+     * @return 缓存的玩家记录，未缓存时返回 Optional.empty()
+     */
+    public Optional<Player> getCachedPlayer(UUID uuid) {
+        return Optional.ofNullable(sessions.get(uuid));
+    }
+
+    /**
+     * 根据 UUID 获取玩家的数据库记录。
+     * 在线玩家直接从缓存返回，离线玩家查询数据库且不加入会话缓存，但会更新名称缓存。
+     *
+     * @param uuid 玩家 UUID
+     * @return 数据库玩家记录，如果不存在则返回 Optional.empty()
+     * @throws SQLException 如果数据库操作失败
+     */
+    public Optional<Player> getPlayer(UUID uuid) throws SQLException {
+        Player cached = sessions.get(uuid);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        Optional<Player> dbPlayer = playerDAO.getPlayerByUuid(uuid);
+        dbPlayer.ifPresent(playerNameCache::update);
+        return dbPlayer;
+    }
+
+    /**
+     * 获取在线玩家的数据库记录，不存在时创建，并同步到名称缓存。
+     *
+     * @param player Bukkit 玩家
+     * @return 数据库玩家记录
+     * @throws SQLException 如果数据库操作失败
+     */
+    public Player getOrCreatePlayer(org.bukkit.entity.Player player) throws SQLException {
+        Player cached = sessions.get(player.getUniqueId());
+        if (cached != null) {
+            return cached;
+        }
+
+        Player dbPlayer = playerDAO.getOrCreatePlayer(player.getUniqueId(), player.getName());
+        // 新建的玩家可能随后成为领地主人，需要能通过名称缓存查到
+        playerNameCache.update(dbPlayer);
+        if (player.isOnline()) {
+            sessions.put(player.getUniqueId(), dbPlayer);
+        }
+        return dbPlayer;
+    }
+}
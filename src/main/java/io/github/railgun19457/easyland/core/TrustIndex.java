@@ -0,0 +1,130 @@
+package io.github.railgun19457.easyland.core;
+
+import io.github.railgun19457.easyland.model.LandTrust;
+import io.github.railgun19457.easyland.storage.LandTrustDAO;
+
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.logging.Logger;
+
+/**
+ * 领地信任关系的内存索引。
+ * 启动时加载所有信任关系，为每个领地保存一个有序的玩家ID数组，
+ * 使信任检查只需一次二分查找，无需访问数据库。
+ * 信任和取消信任由 LandManager 在写入数据库后同步到索引中。
+ */
+public class TrustIndex {
+    private final Logger logger;
+    private final LandTrustDAO landTrustDAO;
+
+    // 格式: landId -> 有序的受信任玩家ID数组
+    private final LongHashTable<int[]> trustedByLand;
+
+    /**
+     * TrustIndex 构造函数。
+     *
+     * @param logger       插件日志记录器
+     * @param landTrustDAO 领地信任数据访问对象
+     */
+    public TrustIndex(Logger logger, LandTrustDAO landTrustDAO) {
+        this.logger = logger;
+        this.landTrustDAO = landTrustDAO;
+        this.trustedByLand = new LongHashTable<>();
+    }
+
+    /**
+     * 从数据库加载所有信任关系并重建索引。
+     * 在插件启动和数据迁移完成后调用。
+     */
+    public synchronized void loadAll() {
+        try {
+            List<LandTrust> trusts = landTrustDAO.getAllTrusts();
+
+            trustedByLand.clear();
+            for (LandTrust trust : trusts) {
+                addToIndex(trust.getLandId(), trust.getPlayerId());
+            }
+
+            logger.info("已加载 " + trusts.size() + " 条信任关系到内存索引");
+        } catch (SQLException e) {
+            logger.severe("加载信任关系索引时出错: " + e.getMessage());
+        }
+    }
+
+    /**
+     * 检查玩家是否被信任在指定领地。
+     *
+     * @param landId   领地ID
+     * @param playerId 玩家数据库ID
+     * @return 如果玩家被信任返回 true，否则返回 false
+     */
+    public synchronized boolean isTrusted(int landId, int playerId) {
+        int[] playerIds = trustedByLand.get(landId);
+        return playerIds != null && Arrays.binarySearch(playerIds, playerId) >= 0;
+    }
+
+    /**
+     * 记录新的信任关系。
+     *
+     * @param landId   领地ID
+     * @param playerId 玩家数据库ID
+     */
+    public synchronized void addTrust(int landId, int playerId) {
+        addToIndex(landId, playerId);
+    }
+
+    /**
+     * 移除信任关系。
+     *
+     * @param landId   领地ID
+     * @param playerId 玩家数据库ID
+     */
+    public synchronized void removeTrust(int landId, int playerId) {
+        int[] playerIds = trustedByLand.get(landId);
+        if (playerIds == null) {
+            return;
+        }
+        int position = Arrays.binarySearch(playerIds, playerId);
+        if (position < 0) {
+            return;
+        }
+
+        if (playerIds.length == 1) {
+            trustedByLand.remove(landId);
+            return;
+        }
+        int[] updated = new int[playerIds.length - 1];
+        System.arraycopy(playerIds, 0, updated, 0, position);
+        System.arraycopy(playerIds, position + 1, updated, position, playerIds.length - position - 1);
+        trustedByLand.put(landId, updated);
+    }
+
+    /**
+     * 移除领地的所有信任关系，在领地被删除时调用。
+     *
+     * @param landId 领地ID
+     */
+    public synchronized void removeLand(int landId) {
+        trustedByLand.remove(landId);
+    }
+
+    private void addToIndex(int landId, int playerId) {
+        int[] playerIds = trustedByLand.get(landId);
+        if (playerIds == null) {
+            trustedByLand.put(landId, new int[] {playerId});
+            return;
+        }
+        int position = Arrays.binarySearch(playerIds, playerId);
+        if (position >= 0) {
+            return;
+        }
+
+        int insertAt = -position - 1;
+        int[] updated = new int[playerIds.length + 1];
+        System.arraycopy(playerIds, 0, updated, 0, insertAt);
+        updated[insertAt] = playerId;
+        System.arraycopy(playerIds, insertAt, updated, insertAt + 1, playerIds.length - insertAt);
+        trustedByLand.put(landId, updated);
+    }
+}
@@ -0,0 +1,28 @@
+package io.github.railgun19457.easyland.exception;
+
+/**
+ * 当领地名称已被其他领地使用时抛出的异常。
+ */
+public class LandNameExistsException extends Exception {
+
+    private final String landName;
+
+    /**
+     * 构造一个新的LandNameExistsException。
+     *
+     * @param landName 已被使用的领地名称
+     */
+    public LandNameExistsException(String landName) {
+        super("名称为'" + landName + "'的领地已存在");
+        this.landName = landName;
+    }
+
+    /**
+     * 获取已被使用的领地名称。
+     *
+     * @return 领地名称
+     */
+    public String getLandName() {
+        return landName;
+    }
+}
@@ -3,6 +3,7 @@ package io.github.railgun19457.easyland.listener;
 import io.github.railgun19457.easyland.core.FlagManager;
 import io.github.railgun19457.easyland.model.LandFlag;
 //import org.bukkit.Material;
+import org.bukkit.block.Block;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.block.BlockBreakEvent;
@@ -36,7 +37,8 @@ public class BlockProtectionListener extends BaseProtectionListener {
         }
 
         // 检查玩家是否有权限破坏该方块
-        if (!flagManager.hasPermission(event.getPlayer(), event.getBlock().getLocation(), LandFlag.BREAK)) {
+        Block block = event.getBlock();
+        if (!flagManager.hasPermission(event.getPlayer(), block.getWorld().getName(), block.getX(), block.getZ(), LandFlag.BREAK)) {
             event.setCancelled(true);
             sendDenyMessage(event.getPlayer(), "permission.no-break");
         }
@@ -56,7 +58,8 @@ public class BlockProtectionListener extends BaseProtectionListener {
         }
 
         // 检查玩家是否有权限在该位置放置方块
-        if (!flagManager.hasPermission(event.getPlayer(), event.getBlock().getLocation(), LandFlag.BUILD)) {
+        Block block = event.getBlock();
+        if (!flagManager.hasPermission(event.getPlayer(), block.getWorld().getName(), block.getX(), block.getZ(), LandFlag.BUILD)) {
             event.setCancelled(true);
             sendDenyMessage(event.getPlayer(), "permission.no-build");
         }
@@ -76,7 +79,8 @@ public class BlockProtectionListener extends BaseProtectionListener {
 
         // 检查是否是火焰蔓延
         if (event.getCause() == org.bukkit.event.block.BlockIgniteEvent.IgniteCause.SPREAD) {
-            if (!flagManager.isFlagEnabled(event.getBlock().getLocation(), LandFlag.FIRE_SPREAD)) {
+            Block block = event.getBlock();
+            if (!flagManager.isFlagEnabled(block.getWorld().getName(), block.getX(), block.getZ(), LandFlag.FIRE_SPREAD)) {
                 event.setCancelled(true);
             }
         }
@@ -94,7 +98,8 @@ public class BlockProtectionListener extends BaseProtectionListener {
             return;
         }
 
-        if (!flagManager.isFlagEnabled(event.getBlock().getLocation(), LandFlag.FIRE_SPREAD)) {
+        Block block = event.getBlock();
+        if (!flagManager.isFlagEnabled(block.getWorld().getName(), block.getX(), block.getZ(), LandFlag.FIRE_SPREAD)) {
             event.setCancelled(true);
         }
     }
@@ -0,0 +1,188 @@
+package io.github.railgun19457.easyland.listener;
+
+import io.github.railgun19457.easyland.core.FlagManager;
+import io.github.railgun19457.easyland.model.LandFlag;
+import org.bukkit.Location;
+import org.bukkit.Tag;
+import org.bukkit.block.Block;
+import org.bukkit.block.BlockFace;
+import org.bukkit.block.data.Directional;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.block.BlockDispenseEvent;
+import org.bukkit.event.block.BlockFromToEvent;
+import org.bukkit.event.block.BlockPistonExtendEvent;
+import org.bukkit.event.block.BlockPistonRetractEvent;
+import org.bukkit.event.block.BlockSpreadEvent;
+import org.bukkit.event.world.StructureGrowEvent;
+
+/**
+ * 监听跨越领地边界的方块变化（液体流动、活塞、发射器、方块蔓延和树木生长），实现领地边界保护。
+ * 这些事件触发非常频繁，检查由 {@link FlagManager#canCrossBoundary} 完成，
+ * 来源和目标在同一个领地内（或都在野外）时直接放行。
+ */
+public class BoundaryProtectionListener extends BaseProtectionListener {
+
+    /**
+     * BoundaryProtectionListener 构造函数。
+     *
+     * @param flagManager 标志管理器
+     */
+    public BoundaryProtectionListener(FlagManager flagManager) {
+        super(flagManager);
+    }
+
+    /**
+     * 处理液体流动事件。
+     * 如果液体从领地外流入且 FLUID_FLOW 标志未启用，则阻止流动。
+     *
+     * @param event 液体流动事件
+     */
+    @EventHandler(priority = EventPriority.HIGH)
+    public void onBlockFromTo(BlockFromToEvent event) {
+        // 如果事件已被取消，则不处理
+        if (isEventCancelled(event)) {
+            return;
+        }
+
+        Block from = event.getBlock();
+        Block to = event.getToBlock();
+        // 竖直方向的流动不会跨越领地边界
+        if (from.getX() == to.getX() && from.getZ() == to.getZ()) {
+            return;
+        }
+
+        if (!canCross(from, to, LandFlag.FLUID_FLOW)) {
+            event.setCancelled(true);
+        }
+    }
+
+    /**
+     * 处理活塞推出事件。
+     * 检查活塞头和被推动方块的原位置、新位置，任一位置跨越到禁用 PISTONS 的领地时阻止推出。
+     *
+     * @param event 活塞推出事件
+     */
+    @EventHandler(priority = EventPriority.HIGH)
+    public void onPistonExtend(BlockPistonExtendEvent event) {
+        // 如果事件已被取消，则不处理
+        if (isEventCancelled(event)) {
+            return;
+        }
+
+        Block piston = event.getBlock();
+        BlockFace direction = event.getDirection();
+        if (!canCross(piston, piston.getRelative(direction), LandFlag.PISTONS)) {
+            event.setCancelled(true);
+            return;
+        }
+
+        for (Block block : event.getBlocks()) {
+            if (!canCross(piston, block, LandFlag.PISTONS)
+                    || !canCross(piston, block.getRelative(direction), LandFlag.PISTONS)) {
+                event.setCancelled(true);
+                return;
+            }
+        }
+    }
+
+    /**
+     * 处理活塞收回事件。
+     * 检查被拉动方块的原位置和新位置，粘性活塞从禁用 PISTONS 的领地中拉出方块
+     * 或将方块拉入这样的领地时阻止收回。
+     *
+     * @param event 活塞收回事件
+     */
+    @EventHandler(priority = EventPriority.HIGH)
+    public void onPistonRetract(BlockPistonRetractEvent event) {
+        // 如果事件已被取消，则不处理
+        if (isEventCancelled(event)) {
+            return;
+        }
+
+        Block piston = event.getBlock();
+        BlockFace direction = event.getDirection();
+        for (Block block : event.getBlocks()) {
+            if (!canCross(piston, block, LandFlag.PISTONS)
+                    || !canCross(piston, block.getRelative(direction), LandFlag.PISTONS)) {
+                event.setCancelled(true);
+                return;
+            }
+        }
+    }
+
+    /**
+     * 处理发射器/投掷器投放事件。
+     * 如果发射器朝向的方块位于禁用 DISPENSERS 的其他领地内，则阻止投放。
+     *
+     * @param event 投放事件
+     */
+    @EventHandler(priority = EventPriority.HIGH)
+    public void onBlockDispense(BlockDispenseEvent event) {
+        // 如果事件已被取消，则不处理
+        if (isEventCancelled(event)) {
+            return;
+        }
+
+        Block dispenser = event.getBlock();
+        if (!(dispenser.getBlockData() instanceof Directional directional)) {
+            return;
+        }
+
+        if (!canCross(dispenser, dispenser.getRelative(directional.getFacing()), LandFlag.DISPENSERS)) {
+            event.setCancelled(true);
+        }
+    }
+
+    /**
+     * 处理方块蔓延事件（草、菌丝、藤蔓、蘑菇、幽匿块等）。
+     * 火焰蔓延由 FIRE_SPREAD 标志单独处理。
+     *
+     * @param event 方块蔓延事件
+     */
+    @EventHandler(priority = EventPriority.HIGH)
+    public void onBlockSpread(BlockSpreadEvent event) {
+        // 如果事件已被取消，则不处理
+        if (isEventCancelled(event)) {
+            return;
+        }
+
+        // 火焰蔓延由 BlockProtectionListener 按 FIRE_SPREAD 处理
+        if (Tag.FIRE.isTagged(event.getNewState().getType())) {
+            return;
+        }
+
+        if (!canCross(event.getSource(), event.getBlock(), LandFlag.BLOCK_SPREAD)) {
+            event.setCancelled(true);
+        }
+    }
+
+    /**
+     * 处理树木和巨型蘑菇生长事件。
+     * 移除生长到禁用 BLOCK_SPREAD 的其他领地内的方块，领地内的部分照常生长。
+     *
+     * @param event 结构生长事件
+     */
+    @EventHandler(priority = EventPriority.HIGH)
+    public void onStructureGrow(StructureGrowEvent event) {
+        // 如果事件已被取消，则不处理
+        if (isEventCancelled(event)) {
+            return;
+        }
+
+        Location origin = event.getLocation();
+        String worldName = event.getWorld().getName();
+        int originX = origin.getBlockX();
+        int originZ = origin.getBlockZ();
+        event.getBlocks().removeIf(state -> !flagManager.canCrossBoundary(
+            worldName, originX, originZ, state.getX(), state.getZ(), LandFlag.BLOCK_SPREAD));
+    }
+
+    /**
+     * 检查来源方块对目标方块的影响是否被允许，直接使用方块坐标以避免创建 Location。
+     */
+    private boolean canCross(Block from, Block to, LandFlag flag) {
+        return flagManager.canCrossBoundary(
+            from.getWorld().getName(), from.getX(), from.getZ(), to.getX(), to.getZ(), flag);
+    }
+}
@@ -2,30 +2,94 @@ package io.github.railgun19457.easyland.listener;
 
 import io.github.railgun19457.easyland.EasyLand;
 import io.github.railgun19457.easyland.I18nManager;
+import io.github.railgun19457.easyland.core.LandCache;
 import io.github.railgun19457.easyland.core.LandManager;
 import io.github.railgun19457.easyland.model.Land;
 import io.github.railgun19457.easyland.model.LandFlag;
-import io.github.railgun19457.easyland.model.Player;
 import net.kyori.adventure.text.Component;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.Listener;
 import org.bukkit.event.player.PlayerMoveEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
 import org.bukkit.event.player.PlayerTeleportEvent;
 
-import java.util.Optional;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
 
 public class LandEnterLeaveListener implements Listener {
 
     private final EasyLand plugin;
     private final LandManager landManager;
+    private final LandCache landCache;
     private final I18nManager i18nManager;
 
+    // 格式: 玩家UUID -> 移动状态（移动事件只在主线程触发）
+    private final Map<UUID, MovementState> movementStates = new HashMap<>();
+
+    // 格式: 领地ID -> 预先生成的进入提示，只包含 notificationsVersion 版本索引中的领地
+    private final Map<Integer, EnterNotification> enterNotifications = new HashMap<>();
+    private long notificationsVersion = -1;
+
+    /**
+     * 预先生成的进入领地提示，记录生成时使用的领地对象、主人名称和消息模板。
+     */
+    private static final class EnterNotification {
+        final Land land;
+        final String ownerName;
+        final String template;
+        final Component component;
+
+        EnterNotification(Land land, String ownerName, String template, Component component) {
+            this.land = land;
+            this.ownerName = ownerName;
+            this.template = template;
+            this.component = component;
+        }
+    }
+
+    /**
+     * 玩家当前所在的领地及其有效区域。
+     * 区域内任意坐标的领地查询结果都是 land（为 null 表示野外），
+     * 因此玩家在区域内移动时无需再查询空间索引。
+     */
+    private static final class MovementState {
+        final String worldName;
+        final long version;
+        final Land land;
+        final int minX;
+        final int minZ;
+        final int maxX;
+        final int maxZ;
+
+        MovementState(String worldName, long version, Land land, int minX, int minZ, int maxX, int maxZ) {
+            this.worldName = worldName;
+            this.version = version;
+            this.land = land;
+            this.minX = minX;
+            this.minZ = minZ;
+            this.maxX = maxX;
+            this.maxZ = maxZ;
+        }
+
+        boolean covers(String worldName, int x, int z, long version) {
+            return this.version == version && this.worldName.equals(worldName)
+                && x >= minX && x <= maxX && z >= minZ && z <= maxZ;
+        }
+    }
+
     public LandEnterLeaveListener(EasyLand plugin) {
         this.plugin = plugin;
         this.landManager = plugin.getLandManager();
+        this.landCache = plugin.getLandCache();
         this.i18nManager = plugin.getI18nManager();
     }
 
+    @EventHandler
+    public void onPlayerQuit(PlayerQuitEvent event) {
+        movementStates.remove(event.getPlayer().getUniqueId());
+    }
+
     @EventHandler
     public void onPlayerTeleport(PlayerTeleportEvent event) {
         if (!handleMove(event.getPlayer(), event.getFrom(), event.getTo())) {
@@ -47,12 +111,28 @@ public class LandEnterLeaveListener implements Listener {
     }
 
     private boolean handleMove(org.bukkit.entity.Player player, org.bukkit.Location from, org.bukkit.Location to) {
-        Land fromLand = landManager.getLandAt(from);
-        Land toLand = landManager.getLandAt(to);
+        if (to.getWorld() == null) {
+            return true;
+        }
+        String worldName = to.getWorld().getName();
+        int x = to.getBlockX();
+        int z = to.getBlockZ();
+        long version = landCache.getVersion();
+
+        MovementState state = movementStates.get(player.getUniqueId());
+        if (state != null && state.covers(worldName, x, z, version)) {
+            // 仍在上次计算出的区域内，所在领地没有变化
+            return true;
+        }
+
+        // 上一次移动计算出的领地就是玩家当前所在的领地
+        Land fromLand = state != null ? state.land : landManager.getLandAt(from);
+        MovementState nextState = resolveMovementState(worldName, x, z, version);
+        Land toLand = nextState.land;
 
         // 检查进入权限
         if (toLand != null && (fromLand == null || fromLand.getId() != toLand.getId())) {
-            if (!plugin.getFlagManager().hasPermission(player, to, LandFlag.ENTER)) {
+            if (!plugin.getFlagManager().hasPermission(player, toLand, LandFlag.ENTER)) {
                 // 计算反向向量
                 org.bukkit.util.Vector direction = from.toVector().subtract(to.toVector()).normalize();
                 // 给一个向后的速度，稍微向上一点，防止卡住
@@ -78,9 +158,11 @@ public class LandEnterLeaveListener implements Listener {
                 }
                 player.sendActionBar(Component.text(message));
                 
+                // 移动被取消，玩家仍在原位置，保留原有状态
                 return false;
             }
         }
+        movementStates.put(player.getUniqueId(), nextState);
 
         // 情况1：从野外进入领地
         if (fromLand == null && toLand != null) {
@@ -99,11 +181,82 @@ public class LandEnterLeaveListener implements Listener {
         return true;
     }
 
+    /**
+     * 查询坐标所在的领地，并计算一个包含该坐标、查询结果处处相同的矩形区域。
+     * 区域限制在坐标所在的区块内：从该领地（野外则为整个区块）的范围出发，
+     * 再沿某一轴收缩以排除区块内优先级更高的候选领地。
+     */
+    private MovementState resolveMovementState(String worldName, int x, int z, long version) {
+        int chunkX = x >> 4;
+        int chunkZ = z >> 4;
+        Land[] candidates = landCache.getLandsInChunk(worldName, chunkX, chunkZ);
+
+        // 候选领地已按优先级排序，第一个包含该坐标的即为结果
+        Land land = null;
+        int landIndex = 0;
+        while (landIndex < candidates.length && !candidates[landIndex].contains(x, z)) {
+            landIndex++;
+        }
+        if (landIndex < candidates.length) {
+            land = candidates[landIndex];
+        }
+
+        int minX = chunkX << 4;
+        int minZ = chunkZ << 4;
+        int maxX = minX + 15;
+        int maxZ = minZ + 15;
+        if (land != null) {
+            minX = Math.max(minX, land.getX1());
+            minZ = Math.max(minZ, land.getZ1());
+            maxX = Math.min(maxX, land.getX2());
+            maxZ = Math.min(maxZ, land.getZ2());
+        }
+
+        // 优先级更低的候选领地在区域内不会胜出，只需排除优先级更高的（它们都不包含该坐标）
+        for (int i = 0; i < landIndex; i++) {
+            Land other = candidates[i];
+            if (other.getX2() < x) {
+                minX = Math.max(minX, other.getX2() + 1);
+            } else if (other.getX1() > x) {
+                maxX = Math.min(maxX, other.getX1() - 1);
+            } else if (other.getZ2() < z) {
+                minZ = Math.max(minZ, other.getZ2() + 1);
+            } else {
+                maxZ = Math.min(maxZ, other.getZ1() - 1);
+            }
+        }
+        return new MovementState(worldName, version, land, minX, minZ, maxX, maxZ);
+    }
+
     private void sendEnterNotification(org.bukkit.entity.Player player, Land land) {
-        String landName = land.getName() != null ? land.getName() : String.valueOf(land.getId());
+        player.sendActionBar(getEnterNotification(land));
+    }
+
+    /**
+     * 获取进入领地的提示组件。
+     * 提示按领地缓存，只有领地对象被替换（修改后重新加载）、主人改名或语言文件重载后才重新生成。
+     * 领地索引发布新版本时清空缓存，避免已删除领地的提示一直占用内存。
+     */
+    private Component getEnterNotification(Land land) {
+        long version = landCache.getVersion();
+        if (version != notificationsVersion) {
+            enterNotifications.clear();
+            notificationsVersion = version;
+        }
+
+        String template = i18nManager.getMessage("notification.enter-land");
         String ownerName = getOwnerName(land.getOwnerId());
-        String message = i18nManager.getMessage("notification.enter-land", landName, ownerName);
-        player.sendActionBar(Component.text(message));
+
+        EnterNotification cached = enterNotifications.get(land.getId());
+        if (cached != null && cached.land == land && cached.ownerName.equals(ownerName)
+                && cached.template.equals(template)) {
+            return cached.component;
+        }
+
+        String landName = land.getName() != null ? land.getName() : String.valueOf(land.getId());
+        Component component = Component.text(i18nManager.getMessage("notification.enter-land", landName, ownerName));
+        enterNotifications.put(land.getId(), new EnterNotification(land, ownerName, template, component));
+        return component;
     }
 
     private void sendLeaveNotification(org.bukkit.entity.Player player, Land land) {
@@ -114,11 +267,8 @@ public class LandEnterLeaveListener implements Listener {
     
     private String getOwnerName(int ownerId) {
         if (ownerId == 0) return "无";
-        try {
-            Optional<Player> playerOpt = plugin.getPlayerDAO().getPlayerById(ownerId);
-            return playerOpt.map(Player::getName).orElse("未知");
-        } catch (Exception e) {
-            return "未知";
-        }
+        // 名称来自内存缓存，进入领地时不会查询数据库
+        String name = plugin.getPlayerNameCache().getName(ownerId);
+        return name != null ? name : "未知";
     }
 }
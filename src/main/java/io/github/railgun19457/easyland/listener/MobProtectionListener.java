@@ -1,17 +1,35 @@
 package io.github.railgun19457.easyland.listener;
 
+import com.destroystokyo.paper.event.entity.PreCreatureSpawnEvent;
 import io.github.railgun19457.easyland.core.FlagManager;
 import io.github.railgun19457.easyland.model.LandFlag;
+import org.bukkit.Location;
 import org.bukkit.entity.Enemy;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.EntityType;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.entity.CreatureSpawnEvent;
 
 /**
  * 监听怪物生成事件，实现领地保护。
+ * 主要在 Paper 的 PreCreatureSpawnEvent 中拦截，被拒绝的生成不会创建实体；
+ * CreatureSpawnEvent 作为其他生成途径的兜底检查。
  */
 public class MobProtectionListener extends BaseProtectionListener {
 
+    /**
+     * 按 EntityType.ordinal() 索引的敌对生物表（实现了 Enemy 接口的实体类型）。
+     */
+    private static final boolean[] HOSTILE_TYPES = new boolean[EntityType.values().length];
+
+    static {
+        for (EntityType type : EntityType.values()) {
+            Class<? extends Entity> entityClass = type.getEntityClass();
+            HOSTILE_TYPES[type.ordinal()] = entityClass != null && Enemy.class.isAssignableFrom(entityClass);
+        }
+    }
+
     /**
      * MobProtectionListener 构造函数。
      *
@@ -22,45 +40,89 @@ public class MobProtectionListener extends BaseProtectionListener {
     }
 
     /**
-     * 处理生物生成事件。
-     * 如果 MOB_SPAWNING 标志未启用，则阻止敌对生物生成。
+     * 处理生物生成前事件。
+     * 如果 MOB_SPAWNING 标志未启用，则在实体创建之前阻止敌对生物生成。
+     * 整个区块都被禁止生成的领地覆盖时，同时中止本轮后续的生成尝试。
      *
-     * @param event 生物生成事件
+     * @param event 生物生成前事件
      */
     @EventHandler(priority = EventPriority.HIGH)
-    public void onCreatureSpawn(CreatureSpawnEvent event) {
+    public void onPreCreatureSpawn(PreCreatureSpawnEvent event) {
         // 如果事件已被取消，则不处理
         if (isEventCancelled(event)) {
             return;
         }
 
-        // 1. 只拦截敌对生物 (实现了 Enemy 接口的实体，如僵尸、骷髅、史莱姆、幻翼等)
-        // 这样可以放行 动物(Animals)、村民(Villager) 等
-        if (!(event.getEntity() instanceof Enemy)) {
+        if (!HOSTILE_TYPES[event.getType().ordinal()] || isExemptReason(event.getReason())) {
             return;
         }
 
-        // 2. 忽略自定义生成（插件行为）
-        if (event.getSpawnReason() == CreatureSpawnEvent.SpawnReason.CUSTOM) {
+        Location location = event.getSpawnLocation();
+        if (location.getWorld() == null) {
             return;
         }
+        String worldName = location.getWorld().getName();
+        int x = location.getBlockX();
+        int z = location.getBlockZ();
 
-        // 3. 忽略刷怪笼生成 (允许玩家在领地内使用刷怪笼)
-        if (event.getSpawnReason() == CreatureSpawnEvent.SpawnReason.SPAWNER) {
+        FlagManager.ChunkVerdict verdict = flagManager.getChunkVerdict(worldName, x >> 4, z >> 4, LandFlag.MOB_SPAWNING);
+        if (verdict == FlagManager.ChunkVerdict.DENIED) {
+            event.setCancelled(true);
+            event.setShouldAbortSpawn(true);
+        } else if (verdict == FlagManager.ChunkVerdict.MIXED
+                && !flagManager.isFlagEnabled(worldName, x, z, LandFlag.MOB_SPAWNING)) {
+            event.setCancelled(true);
+        }
+    }
+
+    /**
+     * 处理生物生成事件。
+     * 兜底处理未经过 PreCreatureSpawnEvent 的生成途径。
+     *
+     * @param event 生物生成事件
+     */
+    @EventHandler(priority = EventPriority.HIGH)
+    public void onCreatureSpawn(CreatureSpawnEvent event) {
+        // 如果事件已被取消，则不处理
+        if (isEventCancelled(event)) {
             return;
         }
 
-        // 4. 检查领地标志
-        if (!flagManager.isFlagEnabled(event.getLocation(), LandFlag.MOB_SPAWNING)) {
-            // 再次确认排除列表（虽然上面已经排除了部分，这里可以处理更细致的逻辑）
-            
-            // 排除刷怪蛋 (通常由 interact 权限控制，这里放行以便玩家手动放置)
-            if (event.getSpawnReason() == CreatureSpawnEvent.SpawnReason.SPAWNER_EGG) {
-                return;
-            }
+        // 只拦截敌对生物 (实现了 Enemy 接口的实体，如僵尸、骷髅、史莱姆、幻翼等)
+        // 这样可以放行 动物(Animals)、村民(Villager) 等
+        if (!(event.getEntity() instanceof Enemy) || isExemptReason(event.getSpawnReason())) {
+            return;
+        }
 
+        Location location = event.getLocation();
+        if (location.getWorld() == null) {
+            return;
+        }
+        String worldName = location.getWorld().getName();
+        int x = location.getBlockX();
+        int z = location.getBlockZ();
+
+        FlagManager.ChunkVerdict verdict = flagManager.getChunkVerdict(worldName, x >> 4, z >> 4, LandFlag.MOB_SPAWNING);
+        if (verdict == FlagManager.ChunkVerdict.DENIED
+                || (verdict == FlagManager.ChunkVerdict.MIXED
+                    && !flagManager.isFlagEnabled(worldName, x, z, LandFlag.MOB_SPAWNING))) {
             // 拦截其他所有生成原因 (自然生成 NATURAL, 黑暗生成, 增援 REINFORCEMENTS 等)
             event.setCancelled(true);
         }
     }
+
+    /**
+     * 检查生成原因是否不受 MOB_SPAWNING 规则限制。
+     *
+     * @param reason 生成原因
+     * @return 如果该生成原因应当放行返回 true
+     */
+    private boolean isExemptReason(CreatureSpawnEvent.SpawnReason reason) {
+        // 忽略自定义生成（插件行为）
+        // 忽略刷怪笼生成 (允许玩家在领地内使用刷怪笼)
+        // 排除刷怪蛋 (通常由 interact 权限控制，这里放行以便玩家手动放置)
+        return reason == CreatureSpawnEvent.SpawnReason.CUSTOM
+            || reason == CreatureSpawnEvent.SpawnReason.SPAWNER
+            || reason == CreatureSpawnEvent.SpawnReason.SPAWNER_EGG;
+    }
 }
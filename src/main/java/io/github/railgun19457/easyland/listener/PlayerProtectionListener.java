@@ -86,10 +86,13 @@ public class PlayerProtectionListener extends BaseProtectionListener {
         // 检查是否是使用物品
         if (event.hasItem()) {
             // 确定检查位置：如果是点击方块，则检查方块位置；否则检查玩家位置
-            org.bukkit.Location location = event.getClickedBlock() != null ? 
-                    event.getClickedBlock().getLocation() : event.getPlayer().getLocation();
+            org.bukkit.block.Block clickedBlock = event.getClickedBlock();
+            boolean allowed = clickedBlock != null
+                    ? flagManager.hasPermission(event.getPlayer(), clickedBlock.getWorld().getName(),
+                            clickedBlock.getX(), clickedBlock.getZ(), LandFlag.USE)
+                    : flagManager.hasPermission(event.getPlayer(), event.getPlayer().getLocation(), LandFlag.USE);
 
-            if (!flagManager.hasPermission(event.getPlayer(), location, LandFlag.USE)) {
+            if (!allowed) {
                 event.setCancelled(true);
                 sendDenyMessage(event.getPlayer(), "permission.no-use");
             }
@@ -0,0 +1,62 @@
+package io.github.railgun19457.easyland.listener;
+
+import io.github.railgun19457.easyland.core.PlayerSessionCache;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.AsyncPlayerPreLoginEvent;
+import org.bukkit.event.player.PlayerLoginEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+
+/**
+ * 维护在线玩家的数据库记录缓存。
+ * 登录前在异步线程中写入玩家记录，退出时移除缓存。
+ */
+public class PlayerSessionListener implements Listener {
+
+    private final PlayerSessionCache playerSessionCache;
+
+    /**
+     * PlayerSessionListener 构造函数。
+     *
+     * @param playerSessionCache 玩家会话缓存
+     */
+    public PlayerSessionListener(PlayerSessionCache playerSessionCache) {
+        this.playerSessionCache = playerSessionCache;
+    }
+
+    /**
+     * 玩家登录前（异步线程）写入或更新玩家记录并加入缓存。
+     *
+     * @param event 异步预登录事件
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onAsyncPreLogin(AsyncPlayerPreLoginEvent event) {
+        if (event.getLoginResult() != AsyncPlayerPreLoginEvent.Result.ALLOWED) {
+            return;
+        }
+        playerSessionCache.loadSession(event.getUniqueId(), event.getName());
+    }
+
+    /**
+     * 登录被其他插件拒绝时移除缓存。
+     *
+     * @param event 登录事件
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onLogin(PlayerLoginEvent event) {
+        if (event.getResult() != PlayerLoginEvent.Result.ALLOWED) {
+            playerSessionCache.removeSession(event.getPlayer().getUniqueId());
+        }
+    }
+
+    /**
+     * 玩家退出时移除缓存。
+     *
+     * @param event 退出事件
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onQuit(PlayerQuitEvent event) {
+        playerSessionCache.removeSession(event.getPlayer().getUniqueId());
+    }
+}
@@ -100,8 +100,8 @@ public class MigrationManager {
         
         long startTime = System.currentTimeMillis();
         
-        // 使用try-with-resources来管理数据库连接
-        try (Connection conn = databaseManager.createNewConnection()) {
+        // 租用写连接，迁移期间其他写入会等待迁移完成；租约关闭时连接归还连接池
+        try (Connection conn = databaseManager.getConnection()) {
             // 0. 检查必需的文件是否存在
             sender.sendMessage(i18nManager.getMessage("migrate.checking-files"));
             checkRequiredFiles();
@@ -122,6 +122,9 @@ public class MigrationManager {
             // 在所有迁移操作完成后，重载配置和重新初始化相关组件
             sender.sendMessage(i18nManager.getMessage("migrate.reloading-config"));
             configManager.reloadConfig();
+            plugin.getLandCache().loadAll();
+            plugin.getTrustIndex().loadAll();
+            plugin.getPlayerNameCache().loadAll();
             sender.sendMessage(i18nManager.getMessage("migrate.config-reloaded"));
             
             sender.sendMessage(i18nManager.getMessage("migrate.success", String.valueOf(duration / 1000.0)));
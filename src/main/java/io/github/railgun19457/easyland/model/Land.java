@@ -1,15 +1,36 @@
 package io.github.railgun19457.easyland.model;
 
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 /**
  * Represents a land claim in the Easyland system.
  */
 public class Land {
+    private static final int FLAG_COUNT = LandFlag.values().length;
+
+    /**
+     * Groups of persisted fields whose changes are tracked so that only modified
+     * columns are written back to the database.
+     */
+    public enum Field {
+        NAME,
+        WORLD,
+        /** x1, z1, x2 and z2 */
+        COORDINATES,
+        OWNER,
+        PARENT,
+        /** The teleport position and rotation */
+        TELEPORT,
+        /** The packed flag mask */
+        FLAGS
+    }
+
     private int id;
     private String name;
     private String world;
@@ -25,8 +46,13 @@ public class Land {
     private Float teleportYaw;
     private Float teleportPitch;
     private Player owner;
-    private Map<LandFlag, Boolean> flags = new HashMap<>();
+    private long flagMask;
+    // Decision table indexed by [role][flag], compiled from flagMask
+    private boolean[] decisions = compileDecisions(0L);
     private List<Player> trustedPlayers;
+    // Fields and flag bits changed since the land was loaded or last saved
+    private final EnumSet<Field> dirtyFields = EnumSet.noneOf(Field.class);
+    private long dirtyFlagMask;
 
     /**
      * Default constructor.
@@ -80,6 +106,45 @@ public class Land {
         this.parentLandId = parentLandId;
     }
     
+    /**
+     * Copy constructor. The owner and trusted players are copied as well,
+     * so changes to the copy never affect the original.
+     *
+     * @param other The land to copy
+     */
+    public Land(Land other) {
+        this.id = other.id;
+        this.name = other.name;
+        this.world = other.world;
+        this.x1 = other.x1;
+        this.z1 = other.z1;
+        this.x2 = other.x2;
+        this.z2 = other.z2;
+        this.ownerId = other.ownerId;
+        this.parentLandId = other.parentLandId;
+        this.teleportX = other.teleportX;
+        this.teleportY = other.teleportY;
+        this.teleportZ = other.teleportZ;
+        this.teleportYaw = other.teleportYaw;
+        this.teleportPitch = other.teleportPitch;
+        this.owner = copyPlayer(other.owner);
+        this.flagMask = other.flagMask;
+        // The decision table is only ever replaced, never modified, so it can be shared
+        this.decisions = other.decisions;
+        if (other.trustedPlayers != null) {
+            this.trustedPlayers = new ArrayList<>(other.trustedPlayers.size());
+            for (Player player : other.trustedPlayers) {
+                this.trustedPlayers.add(copyPlayer(player));
+            }
+        }
+        this.dirtyFields.addAll(other.dirtyFields);
+        this.dirtyFlagMask = other.dirtyFlagMask;
+    }
+
+    private static Player copyPlayer(Player player) {
+        return player != null ? new Player(player.getId(), player.getUuid(), player.getName()) : null;
+    }
+
     /**
      * Private constructor for Builder pattern.
      */
@@ -99,7 +164,8 @@ public class Land {
         this.teleportYaw = builder.teleportYaw;
         this.teleportPitch = builder.teleportPitch;
         this.owner = builder.owner;
-        this.flags = builder.flags;
+        this.flagMask = builder.flagMask;
+        this.decisions = compileDecisions(builder.flagMask);
         this.trustedPlayers = builder.trustedPlayers;
     }
     
@@ -123,7 +189,7 @@ public class Land {
         private Float teleportYaw;
         private Float teleportPitch;
         private Player owner;
-        private Map<LandFlag, Boolean> flags = new HashMap<>();
+        private long flagMask;
         private List<Player> trustedPlayers;
         
         public Builder() {}
@@ -215,17 +281,22 @@ public class Land {
         }
         
         public Builder flags(Set<LandFlag> flags) {
-            this.flags.clear();
+            this.flagMask = 0L;
             if (flags != null) {
                 for (LandFlag flag : flags) {
-                    this.flags.put(flag, true);
+                    this.flagMask |= flag.getBit();
                 }
             }
             return this;
         }
 
         public Builder flags(Map<LandFlag, Boolean> flags) {
-            this.flags = flags;
+            this.flagMask = LandFlag.toMask(flags);
+            return this;
+        }
+
+        public Builder flagMask(long flagMask) {
+            this.flagMask = flagMask;
             return this;
         }
         
@@ -259,6 +330,9 @@ public class Land {
     }
 
     public void setName(String name) {
+        if (!Objects.equals(this.name, name)) {
+            dirtyFields.add(Field.NAME);
+        }
         this.name = name;
     }
 
@@ -267,6 +341,9 @@ public class Land {
     }
 
     public void setWorld(String world) {
+        if (!Objects.equals(this.world, world)) {
+            dirtyFields.add(Field.WORLD);
+        }
         this.world = world;
     }
 
@@ -275,6 +352,9 @@ public class Land {
     }
 
     public void setX1(int x1) {
+        if (this.x1 != x1) {
+            dirtyFields.add(Field.COORDINATES);
+        }
         this.x1 = x1;
     }
 
@@ -283,6 +363,9 @@ public class Land {
     }
 
     public void setZ1(int z1) {
+        if (this.z1 != z1) {
+            dirtyFields.add(Field.COORDINATES);
+        }
         this.z1 = z1;
     }
 
@@ -291,6 +374,9 @@ public class Land {
     }
 
     public void setX2(int x2) {
+        if (this.x2 != x2) {
+            dirtyFields.add(Field.COORDINATES);
+        }
         this.x2 = x2;
     }
 
@@ -299,6 +385,9 @@ public class Land {
     }
 
     public void setZ2(int z2) {
+        if (this.z2 != z2) {
+            dirtyFields.add(Field.COORDINATES);
+        }
         this.z2 = z2;
     }
 
@@ -307,6 +396,9 @@ public class Land {
     }
 
     public void setOwnerId(int ownerId) {
+        if (this.ownerId != ownerId) {
+            dirtyFields.add(Field.OWNER);
+        }
         this.ownerId = ownerId;
     }
 
@@ -315,6 +407,9 @@ public class Land {
     }
 
     public void setParentLandId(Integer parentLandId) {
+        if (!Objects.equals(this.parentLandId, parentLandId)) {
+            dirtyFields.add(Field.PARENT);
+        }
         this.parentLandId = parentLandId;
     }
 
@@ -323,6 +418,9 @@ public class Land {
     }
 
     public void setTeleportX(Double teleportX) {
+        if (!Objects.equals(this.teleportX, teleportX)) {
+            dirtyFields.add(Field.TELEPORT);
+        }
         this.teleportX = teleportX;
     }
 
@@ -331,6 +429,9 @@ public class Land {
     }
 
     public void setTeleportY(Double teleportY) {
+        if (!Objects.equals(this.teleportY, teleportY)) {
+            dirtyFields.add(Field.TELEPORT);
+        }
         this.teleportY = teleportY;
     }
 
@@ -339,6 +440,9 @@ public class Land {
     }
 
     public void setTeleportZ(Double teleportZ) {
+        if (!Objects.equals(this.teleportZ, teleportZ)) {
+            dirtyFields.add(Field.TELEPORT);
+        }
         this.teleportZ = teleportZ;
     }
 
@@ -347,6 +451,9 @@ public class Land {
     }
 
     public void setTeleportYaw(Float teleportYaw) {
+        if (!Objects.equals(this.teleportYaw, teleportYaw)) {
+            dirtyFields.add(Field.TELEPORT);
+        }
         this.teleportYaw = teleportYaw;
     }
 
@@ -355,6 +462,9 @@ public class Land {
     }
 
     public void setTeleportPitch(Float teleportPitch) {
+        if (!Objects.equals(this.teleportPitch, teleportPitch)) {
+            dirtyFields.add(Field.TELEPORT);
+        }
         this.teleportPitch = teleportPitch;
     }
 
@@ -371,27 +481,121 @@ public class Land {
     }
 
     public Set<LandFlag> getFlags() {
-        return flags.entrySet().stream()
-            .filter(entry -> Boolean.TRUE.equals(entry.getValue()))
-            .map(Map.Entry::getKey)
-            .collect(Collectors.toSet());
+        Set<LandFlag> result = EnumSet.noneOf(LandFlag.class);
+        for (LandFlag flag : LandFlag.values()) {
+            if ((flagMask & flag.getBit()) != 0) {
+                result.add(flag);
+            }
+        }
+        return result;
     }
 
     public void setFlags(Set<LandFlag> flags) {
-        this.flags.clear();
+        long mask = 0L;
         if (flags != null) {
             for (LandFlag flag : flags) {
-                this.flags.put(flag, true);
+                mask |= flag.getBit();
             }
         }
+        applyFlagMask(mask);
     }
 
+    /**
+     * Gets a snapshot of all flags and their values.
+     * Changes to the returned map are not written back; use {@link #setFlag} or {@link #setFlagMap}.
+     *
+     * @return A map containing every flag and whether it is enabled
+     */
     public Map<LandFlag, Boolean> getFlagMap() {
-        return flags;
+        Map<LandFlag, Boolean> result = new EnumMap<>(LandFlag.class);
+        for (LandFlag flag : LandFlag.values()) {
+            result.put(flag, (flagMask & flag.getBit()) != 0);
+        }
+        return result;
     }
 
     public void setFlagMap(Map<LandFlag, Boolean> flags) {
-        this.flags = flags;
+        applyFlagMask(LandFlag.toMask(flags));
+    }
+
+    /**
+     * Gets the packed flag mask, one bit per {@link LandFlag}.
+     *
+     * @return The flag mask
+     */
+    public long getFlagMask() {
+        return flagMask;
+    }
+
+    public void setFlagMask(long flagMask) {
+        applyFlagMask(flagMask);
+    }
+
+    /**
+     * Enables or disables a single flag.
+     *
+     * @param flag  The flag to change
+     * @param value true to enable the flag, false to disable it
+     */
+    public void setFlag(LandFlag flag, boolean value) {
+        applyFlagMask(value ? flagMask | flag.getBit() : flagMask & ~flag.getBit());
+    }
+
+    /**
+     * Replaces the flag mask, recording which flags changed and recompiling the decision table.
+     */
+    private void applyFlagMask(long newMask) {
+        long changed = flagMask ^ newMask;
+        if (changed != 0) {
+            dirtyFlagMask |= changed;
+            dirtyFields.add(Field.FLAGS);
+        }
+        flagMask = newMask;
+        decisions = compileDecisions(newMask);
+    }
+
+    /**
+     * Gets the fields modified since the land was loaded or last saved.
+     *
+     * @return A copy of the set of dirty fields
+     */
+    public Set<Field> getDirtyFields() {
+        return EnumSet.copyOf(dirtyFields);
+    }
+
+    /**
+     * Gets the flags modified since the land was loaded or last saved, one bit per {@link LandFlag}.
+     *
+     * @return The mask of dirty flags
+     */
+    public long getDirtyFlagMask() {
+        return dirtyFlagMask;
+    }
+
+    /**
+     * Checks whether any field or flag was modified since the land was loaded or last saved.
+     *
+     * @return true if there are unsaved changes
+     */
+    public boolean isDirty() {
+        return !dirtyFields.isEmpty();
+    }
+
+    /**
+     * Marks a field as modified so that it is written on the next update.
+     *
+     * @param field The field to mark
+     */
+    public void markDirty(Field field) {
+        dirtyFields.add(field);
+    }
+
+    /**
+     * Clears all change tracking, typically after the land was loaded or saved.
+     */
+    public void markClean() {
+        dirtyFields.clear();
+        dirtyFlagMask = 0L;
     }
 
     public List<Player> getTrustedPlayers() {
@@ -429,7 +633,34 @@ public class Land {
      * @return true if the flag is enabled, false otherwise
      */
     public boolean hasFlag(LandFlag flag) {
-        return flags != null && Boolean.TRUE.equals(flags.get(flag));
+        return (flagMask & flag.getBit()) != 0;
+    }
+
+    /**
+     * Checks whether a player with the given role may perform the action guarded by a flag.
+     * Owners and trusted players bypass the land's flags; visitors are governed by them.
+     *
+     * @param role The player's role on this land
+     * @param flag The flag guarding the action
+     * @return true if the action is allowed, false otherwise
+     */
+    public boolean isAllowed(LandRole role, LandFlag flag) {
+        return decisions[role.ordinal() * FLAG_COUNT + flag.ordinal()];
+    }
+
+    /**
+     * Compiles the role x flag decision table for a flag mask.
+     * Rebuilt whenever the flags change so permission checks are a single array read.
+     */
+    private static boolean[] compileDecisions(long flagMask) {
+        boolean[] table = new boolean[LandRole.values().length * FLAG_COUNT];
+        for (LandRole role : LandRole.values()) {
+            for (LandFlag flag : LandFlag.values()) {
+                table[role.ordinal() * FLAG_COUNT + flag.ordinal()] =
+                    role != LandRole.VISITOR || (flagMask & flag.getBit()) != 0;
+            }
+        }
+        return table;
     }
 
     /**
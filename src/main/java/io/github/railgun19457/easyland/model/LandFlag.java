@@ -1,72 +1,120 @@
 package io.github.railgun19457.easyland.model;
 
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
 /**
  * Enumeration of land protection flags.
  * Each flag represents a specific permission or setting for a land.
+ * <p>
+ * Every flag has a fixed bit index in the packed {@code lands.flags} column. The index is
+ * persisted, so existing indices must never change; new flags take the next unused index.
  */
 public enum LandFlag {
     /**
      * Allows players to build/place blocks on the land.
      */
-    BUILD("build", "允许建造/放置方块"),
+    BUILD("build", "允许建造/放置方块", 0),
 
     /**
      * Allows players to break blocks on the land.
      */
-    BREAK("break", "允许破坏方块"),
+    BREAK("break", "允许破坏方块", 1),
 
     /**
      * Allows players to interact with blocks (chests, doors, buttons, etc.).
      */
-    INTERACT("interact", "允许与方块交互"),
+    INTERACT("interact", "允许与方块交互", 2),
 
     /**
      * Allows players to use items on the land.
      */
-    USE("use", "允许使用物品"),
+    USE("use", "允许使用物品", 3),
 
     /**
      * Allows players to enter the land.
      */
-    ENTER("enter", "允许进入领地"),
+    ENTER("enter", "允许进入领地", 4),
 
     /**
      * Allows mobs to spawn on the land.
      */
-    MOB_SPAWNING("mob_spawning", "允许怪物生成"),
+    MOB_SPAWNING("mob_spawning", "允许怪物生成", 5),
 
     /**
      * Allows PvP (Player vs Player) combat on the land.
      */
-    PVP("pvp", "允许玩家对战"),
+    PVP("pvp", "允许玩家对战", 6),
 
     /**
      * Allows PvE (Player vs Environment) combat on the land.
      */
-    PVE("pve", "允许PVE"),
+    PVE("pve", "允许PVE", 7),
 
     /**
      * Allows explosions on the land.
      */
-    EXPLOSIONS("explosions", "允许爆炸"),
+    EXPLOSIONS("explosions", "允许爆炸", 8),
 
     /**
      * Allows fire to spread on the land.
      */
-    FIRE_SPREAD("fire_spread", "允许火焰蔓延");
+    FIRE_SPREAD("fire_spread", "允许火焰蔓延", 9),
+
+    /**
+     * Allows water and lava to flow into the land from outside.
+     */
+    FLUID_FLOW("fluid_flow", "允许外部液体流入", 10),
+
+    /**
+     * Allows pistons outside the land to push or pull blocks across its border.
+     */
+    PISTONS("pistons", "允许外部活塞推拉方块", 11),
+
+    /**
+     * Allows dispensers outside the land to dispense into it.
+     */
+    DISPENSERS("dispensers", "允许外部发射器投放", 12),
+
+    /**
+     * Allows blocks and trees outside the land to spread or grow into it.
+     */
+    BLOCK_SPREAD("block_spread", "允许外部方块蔓延", 13);
+
+    private static final Map<String, LandFlag> BY_NAME = new HashMap<>();
+
+    static {
+        long usedBits = 0L;
+        for (LandFlag flag : values()) {
+            // 位索引会被持久化，重复或越界会使已保存的规则错乱
+            if ((usedBits & flag.bit) != 0) {
+                throw new IllegalStateException("Duplicate bit index for land flag " + flag.name());
+            }
+            usedBits |= flag.bit;
+            BY_NAME.put(flag.name, flag);
+        }
+    }
 
     private final String name;
     private final String description;
+    private final long bit;
 
     /**
      * Constructor for LandFlag enum.
      *
      * @param name        The flag name used in database and commands
      * @param description The description of what this flag controls
+     * @param bitIndex    The stable bit index of this flag in a packed flag mask, 0 to 63
      */
-    LandFlag(String name, String description) {
+    LandFlag(String name, String description, int bitIndex) {
+        // Flags are packed into a 64-bit mask
+        if (bitIndex < 0 || bitIndex >= Long.SIZE) {
+            throw new IllegalStateException("Bit index " + bitIndex + " of land flag " + name + " is out of range");
+        }
         this.name = name;
         this.description = description;
+        this.bit = 1L << bitIndex;
     }
 
     /**
@@ -87,6 +135,15 @@ public enum LandFlag {
         return description;
     }
 
+    /**
+     * Gets the bit representing this flag in a packed flag mask.
+     *
+     * @return The flag bit
+     */
+    public long getBit() {
+        return bit;
+    }
+
     /**
      * Finds a LandFlag by its name.
      *
@@ -94,12 +151,29 @@ public enum LandFlag {
      * @return The LandFlag if found, null otherwise
      */
     public static LandFlag fromName(String name) {
-        for (LandFlag flag : values()) {
-            if (flag.name.equalsIgnoreCase(name)) {
-                return flag;
+        if (name == null) {
+            return null;
+        }
+        LandFlag flag = BY_NAME.get(name);
+        return flag != null ? flag : BY_NAME.get(name.toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * Packs a flag map into a bit mask. Missing or null values count as disabled.
+     *
+     * @param flags The flag map
+     * @return The packed flag mask
+     */
+    public static long toMask(Map<LandFlag, Boolean> flags) {
+        long mask = 0L;
+        if (flags != null) {
+            for (Map.Entry<LandFlag, Boolean> entry : flags.entrySet()) {
+                if (Boolean.TRUE.equals(entry.getValue())) {
+                    mask |= entry.getKey().bit;
+                }
             }
         }
-        return null;
+        return mask;
     }
 
     /**
@@ -0,0 +1,22 @@
+package io.github.railgun19457.easyland.model;
+
+/**
+ * Enumeration of the roles a player can have on a land.
+ * Used together with {@link LandFlag} to index a land's decision table.
+ */
+public enum LandRole {
+    /**
+     * The player owns the land.
+     */
+    OWNER,
+
+    /**
+     * The player has been trusted on the land.
+     */
+    TRUSTED,
+
+    /**
+     * Any other player.
+     */
+    VISITOR
+}
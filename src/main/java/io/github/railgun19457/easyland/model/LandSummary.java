@@ -0,0 +1,111 @@
+package io.github.railgun19457.easyland.model;
+
+/**
+ * A lightweight, read-only view of a land row used for paged listings.
+ * Unlike {@link Land} it carries no flags or trusted players, so a page of summaries
+ * is read with a single query on the lands table.
+ */
+public class LandSummary {
+    private final int id;
+    private final String name;
+    private final String world;
+    private final int x1;
+    private final int z1;
+    private final int x2;
+    private final int z2;
+    private final int ownerId;
+    private final Integer parentLandId;
+    private final Double teleportX;
+    private final Double teleportY;
+    private final Double teleportZ;
+
+    /**
+     * Constructor with all fields.
+     *
+     * @param id           The land's database ID
+     * @param name         The land name, or null if unnamed
+     * @param world        The world name
+     * @param x1           The first X coordinate
+     * @param z1           The first Z coordinate
+     * @param x2           The second X coordinate
+     * @param z2           The second Z coordinate
+     * @param ownerId      The owner's database ID
+     * @param parentLandId The parent land ID, or null if this is not a sub-land
+     * @param teleportX    The teleport X coordinate, or null if no teleport point is set
+     * @param teleportY    The teleport Y coordinate, or null if no teleport point is set
+     * @param teleportZ    The teleport Z coordinate, or null if no teleport point is set
+     */
+    public LandSummary(int id, String name, String world, int x1, int z1, int x2, int z2, int ownerId,
+                       Integer parentLandId, Double teleportX, Double teleportY, Double teleportZ) {
+        this.id = id;
+        this.name = name;
+        this.world = world;
+        this.x1 = x1;
+        this.z1 = z1;
+        this.x2 = x2;
+        this.z2 = z2;
+        this.ownerId = ownerId;
+        this.parentLandId = parentLandId;
+        this.teleportX = teleportX;
+        this.teleportY = teleportY;
+        this.teleportZ = teleportZ;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getWorld() {
+        return world;
+    }
+
+    public int getX1() {
+        return x1;
+    }
+
+    public int getZ1() {
+        return z1;
+    }
+
+    public int getX2() {
+        return x2;
+    }
+
+    public int getZ2() {
+        return z2;
+    }
+
+    public int getOwnerId() {
+        return ownerId;
+    }
+
+    public Integer getParentLandId() {
+        return parentLandId;
+    }
+
+    public Double getTeleportX() {
+        return teleportX;
+    }
+
+    public Double getTeleportY() {
+        return teleportY;
+    }
+
+    public Double getTeleportZ() {
+        return teleportZ;
+    }
+
+    @Override
+    public String toString() {
+        return "LandSummary{" +
+                "id=" + id +
+                ", name='" + name + '\'' +
+                ", world='" + world + '\'' +
+                ", ownerId=" + ownerId +
+                '}';
+    }
+}
@@ -0,0 +1,241 @@
+package io.github.railgun19457.easyland.storage;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.logging.Logger;
+
+/**
+ * A small SQLite connection pool: one writer connection plus a fixed number of read-only readers.
+ * <p>
+ * Connections are handed out as leases. Closing a lease returns the connection to the pool instead
+ * of closing it, so DAOs keep using try-with-resources. The writer is exclusive: a writer lease holds
+ * a reentrant lock until it is closed, so transactions started on it cannot interleave with other
+ * threads. Readers are opened with {@code query_only}; in WAL mode they read the last committed
+ * state without blocking on, or being blocked by, the writer.
+ * <p>
+ * A thread that already holds a lease gets nested leases on the same connection: read leases taken
+ * while holding the writer use the writer, so they see the thread's own uncommitted changes, and a
+ * thread never waits for a second reader while holding one.
+ */
+class ConnectionPool {
+    /**
+     * Opens a new, fully configured connection to the database file.
+     */
+    @FunctionalInterface
+    interface ConnectionFactory {
+        Connection open(boolean readOnly) throws SQLException;
+    }
+
+    private final Logger logger;
+    private final ConnectionFactory factory;
+    private final int statementCacheSize;
+    private final long acquireTimeoutMillis;
+
+    private final ReentrantLock writerLock;
+    private PooledConnection writer;
+
+    private final List<PooledConnection> readers;
+    private final BlockingQueue<PooledConnection> idleReaders;
+    // 当前线程持有的读连接及其嵌套租约数量
+    private final ThreadLocal<PooledConnection> currentReader;
+
+    private volatile boolean closed;
+
+    /**
+     * Constructor for ConnectionPool. Opens the writer and all reader connections.
+     *
+     * @param logger               The plugin logger
+     * @param factory              Opens configured connections
+     * @param readerCount          The number of reader connections
+     * @param statementCacheSize   The maximum number of idle statements cached per SQL string and connection
+     * @param acquireTimeoutMillis How long to wait for a free connection before failing, 0 to wait without limit
+     * @throws SQLException if a connection cannot be opened
+     */
+    ConnectionPool(Logger logger, ConnectionFactory factory, int readerCount, int statementCacheSize,
+                   long acquireTimeoutMillis) throws SQLException {
+        this.logger = logger;
+        this.factory = factory;
+        this.statementCacheSize = statementCacheSize;
+        this.acquireTimeoutMillis = acquireTimeoutMillis;
+        this.writerLock = new ReentrantLock();
+        this.readers = new ArrayList<>(readerCount);
+        this.idleReaders = new ArrayBlockingQueue<>(Math.max(1, readerCount));
+        this.currentReader = new ThreadLocal<>();
+
+        // 写连接最先打开，由它设置持久化的日志模式
+        this.writer = new PooledConnection(factory.open(false), statementCacheSize);
+        try {
+            for (int i = 0; i < readerCount; i++) {
+                PooledConnection reader = new PooledConnection(factory.open(true), statementCacheSize);
+                readers.add(reader);
+                idleReaders.add(reader);
+            }
+        } catch (SQLException e) {
+            close();
+            throw e;
+        }
+    }
+
+    /**
+     * Leases the writer connection, waiting until no other thread holds it.
+     *
+     * @return A lease whose {@code close()} releases the writer
+     * @throws SQLException if the pool is closed or the writer does not become free in time
+     */
+    Connection leaseWriter() throws SQLException {
+        checkOpen();
+        try {
+            if (acquireTimeoutMillis <= 0) {
+                writerLock.lockInterruptibly();
+            } else if (!writerLock.tryLock(acquireTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw new SQLException("Timed out waiting for the database writer connection");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for the database writer connection", e);
+        }
+
+        try {
+            checkOpen();
+            if (writer.connection.isClosed()) {
+                logger.warning("Database writer connection was closed, reopening");
+                writer = new PooledConnection(factory.open(false), statementCacheSize);
+            }
+        } catch (SQLException | RuntimeException e) {
+            writerLock.unlock();
+            throw e;
+        }
+        return createLease(writer, this::releaseWriter);
+    }
+
+    /**
+     * Leases a read-only connection. If the current thread already holds the writer or a reader,
+     * the lease shares that connection.
+     *
+     * @return A lease whose {@code close()} returns the connection to the pool
+     * @throws SQLException if the pool is closed or no reader becomes free in time
+     */
+    Connection leaseReader() throws SQLException {
+        checkOpen();
+        if (writerLock.isHeldByCurrentThread() || readers.isEmpty()) {
+            return leaseWriter();
+        }
+
+        PooledConnection reader = currentReader.get();
+        if (reader == null) {
+            try {
+                reader = acquireTimeoutMillis <= 0
+                    ? idleReaders.take()
+                    : idleReaders.poll(acquireTimeoutMillis, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new SQLException("Interrupted while waiting for a database reader connection", e);
+            }
+            if (reader == null) {
+                throw new SQLException("Timed out waiting for a database reader connection");
+            }
+            currentReader.set(reader);
+        }
+        reader.leases++;
+        return createLease(reader, this::releaseReader);
+    }
+
+    private void releaseWriter(PooledConnection pooled) {
+        try {
+            // 最外层租约归还时仍有未结束的事务，说明调用方忘记提交或回滚
+            if (writerLock.getHoldCount() == 1 && !pooled.connection.getAutoCommit()) {
+                logger.warning("Database writer connection released inside a transaction, rolling back");
+                pooled.connection.rollback();
+                pooled.connection.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            logger.warning("Failed to reset the database writer connection: " + e.getMessage());
+        } finally {
+            writerLock.unlock();
+        }
+    }
+
+    private void releaseReader(PooledConnection pooled) {
+        if (--pooled.leases > 0) {
+            return;
+        }
+        currentReader.remove();
+        if (closed) {
+            pooled.close();
+        } else {
+            idleReaders.add(pooled);
+        }
+    }
+
+    /**
+     * Closes every connection. Leases still held are closed when released.
+     */
+    void close() {
+        closed = true;
+        writerLock.lock();
+        try {
+            if (writer != null) {
+                writer.close();
+            }
+        } finally {
+            writerLock.unlock();
+        }
+        PooledConnection reader;
+        while ((reader = idleReaders.poll()) != null) {
+            reader.close();
+        }
+    }
+
+    /**
+     * Checks whether the pool is open.
+     *
+     * @return true if the pool has not been closed
+     */
+    boolean isOpen() {
+        return !closed;
+    }
+
+    private void checkOpen() throws SQLException {
+        if (closed) {
+            throw new SQLException("Database connection pool is closed");
+        }
+    }
+
+    /**
+     * Wraps a pooled connection in a lease that runs the release action once when closed.
+     */
+    private Connection createLease(PooledConnection pooled, Consumer<PooledConnection> release) {
+        return new ConnectionLease(pooled.connection, pooled.statementCache, () -> release.accept(pooled));
+    }
+
+    /**
+     * A pooled connection with its own statement cache.
+     */
+    private static final class PooledConnection {
+        private final Connection connection;
+        private final StatementCache statementCache;
+        // 嵌套租约数量，只由持有该连接的线程访问
+        private int leases;
+
+        private PooledConnection(Connection connection, int statementCacheSize) {
+            this.connection = connection;
+            this.statementCache = new StatementCache(connection, statementCacheSize);
+        }
+
+        private void close() {
+            statementCache.closeAll();
+            try {
+                connection.close();
+            } catch (SQLException ignored) {
+                // 关闭连接池时无需处理
+            }
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package io.github.railgun19457.easyland.storage;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+
+/**
+ * Runs database work off the server thread.
+ * <p>
+ * Writes go to a single writer thread, so they are applied in submission order and
+ * check-then-write sequences inside one task never interleave with other writes.
+ * Reads go to a small pool of reader threads. Callers receive a {@link CompletableFuture}
+ * and must hop back to the server thread themselves before touching the Bukkit API.
+ */
+public class DatabaseExecutor {
+    // 关闭时等待未完成任务的最长时间
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 10;
+
+    private final Logger logger;
+    private final ExecutorService writer;
+    private final ExecutorService readers;
+
+    /**
+     * Constructor for DatabaseExecutor.
+     *
+     * @param logger        The plugin logger
+     * @param readerThreads The number of reader threads, normally the number of pooled reader connections
+     */
+    public DatabaseExecutor(Logger logger, int readerThreads) {
+        this.logger = logger;
+        this.writer = Executors.newSingleThreadExecutor(threadFactory("EasyLand-DB-Writer"));
+        this.readers = Executors.newFixedThreadPool(Math.max(1, readerThreads), threadFactory("EasyLand-DB-Reader"));
+    }
+
+    /**
+     * Submits a task that modifies the database to the writer thread.
+     *
+     * @param task The task to run
+     * @param <T>  The result type
+     * @return A future completed with the task's result, or exceptionally if the task threw
+     */
+    public <T> CompletableFuture<T> write(Supplier<T> task) {
+        return CompletableFuture.supplyAsync(task, writer);
+    }
+
+    /**
+     * Submits a read-only task to the reader pool.
+     *
+     * @param task The task to run
+     * @param <T>  The result type
+     * @return A future completed with the task's result, or exceptionally if the task threw
+     */
+    public <T> CompletableFuture<T> read(Supplier<T> task) {
+        return CompletableFuture.supplyAsync(task, readers);
+    }
+
+    /**
+     * Stops accepting new tasks and waits for pending writes to finish.
+     * Must be called before the database connection is closed.
+     */
+    public void shutdown() {
+        writer.shutdown();
+        readers.shutdown();
+        try {
+            if (!writer.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                logger.warning("等待数据库写入任务完成超时，剩余任务将被丢弃");
+                writer.shutdownNow();
+            }
+            if (!readers.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                readers.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            writer.shutdownNow();
+            readers.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Creates a factory for named daemon threads.
+     *
+     * @param name The thread name prefix
+     * @return The thread factory
+     */
+    private static ThreadFactory threadFactory(String name) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
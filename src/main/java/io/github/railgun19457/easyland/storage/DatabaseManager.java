@@ -1,5 +1,7 @@
 package io.github.railgun19457.easyland.storage;
 
+import io.github.railgun19457.easyland.model.LandFlag;
+
 import java.io.File;
 import java.io.IOException;
 import java.sql.Connection;
@@ -11,26 +13,38 @@ import java.sql.Statement;
 import java.util.logging.Logger;
 
 /**
- * Manages the SQLite database connection for the Easyland plugin.
+ * Manages the SQLite database connections for the Easyland plugin.
  * Handles database initialization, connection management, and table creation.
+ * <p>
+ * Connections come from a small pool: one writer connection for all modifications and a few
+ * read-only reader connections. Every connection is configured with the pragmas from
+ * {@link DatabaseSettings}; by default the database runs in WAL mode, so readers on other threads
+ * never block on the writer. Statements are cached per SQL string and connection, so hot queries
+ * are parsed once per connection.
  */
 public class DatabaseManager {
     private final File dataFolder;
-    private Connection connection;
+    private final DatabaseSettings settings;
+    private ConnectionPool pool;
+    // SQLite 是否支持 R*Tree 模块并已建立 lands_rtree 空间索引
+    private volatile boolean landRTreeAvailable;
     private final Logger logger;
 
     /**
      * Constructor for DatabaseManager.
      *
      * @param dataFolder The plugin's data folder where the database will be stored
+     * @param logger     The plugin logger
+     * @param settings   The connection settings
      */
-    public DatabaseManager(File dataFolder, Logger logger) {
+    public DatabaseManager(File dataFolder, Logger logger, DatabaseSettings settings) {
         this.dataFolder = dataFolder;
         this.logger = logger;
+        this.settings = settings;
     }
 
     /**
-     * Initializes the database connection and creates necessary tables.
+     * Initializes the connection pool and creates necessary tables.
      *
      * @throws SQLException if a database access error occurs
      * @throws IOException  if the database file cannot be created
@@ -40,50 +54,105 @@ public class DatabaseManager {
             dataFolder.mkdirs();
         }
 
-        File databaseFile = new File(dataFolder, "easyland.db");
-        String url = "jdbc:sqlite:" + databaseFile.getAbsolutePath();
-
-        connection = DriverManager.getConnection(url);
+        pool = new ConnectionPool(logger, this::openConnection, settings.getReaderConnections(),
+            settings.getStatementCacheSize(), settings.getBusyTimeoutMillis());
         createTables();
     }
 
     /**
-     * Gets the database connection.
+     * Opens a new connection to the database file and applies the configured pragmas.
      *
-     * @return The database connection
+     * @param readOnly Whether the connection should reject writes
+     * @return The new connection
      * @throws SQLException if a database access error occurs
      */
-    public Connection getConnection() throws SQLException {
-        if (connection == null || connection.isClosed()) {
-            File databaseFile = new File(dataFolder, "easyland.db");
-            String url = "jdbc:sqlite:" + databaseFile.getAbsolutePath();
-            connection = DriverManager.getConnection(url);
+    private Connection openConnection(boolean readOnly) throws SQLException {
+        File databaseFile = new File(dataFolder, "easyland.db");
+        String url = "jdbc:sqlite:" + databaseFile.getAbsolutePath();
+        Connection conn = DriverManager.getConnection(url);
+        try {
+            applyPragmas(conn, readOnly);
+        } catch (SQLException e) {
+            conn.close();
+            throw e;
         }
-        return connection;
+        return conn;
     }
 
     /**
-     * Creates a new, independent database connection for explicit transaction management.
-     * This method is useful for operations that require their own connection lifecycle,
-     * such as data migration operations.
+     * Applies the configured pragmas to a connection.
+     * journal_mode is persistent in the database file and only set by the writer;
+     * the others only last for the connection.
      *
-     * @return A new database connection
+     * @param conn     The connection to configure
+     * @param readOnly Whether the connection should reject writes
      * @throws SQLException if a database access error occurs
      */
-    public Connection createNewConnection() throws SQLException {
-        File databaseFile = new File(dataFolder, "easyland.db");
-        String url = "jdbc:sqlite:" + databaseFile.getAbsolutePath();
-        return DriverManager.getConnection(url);
+    private void applyPragmas(Connection conn, boolean readOnly) throws SQLException {
+        try (Statement statement = conn.createStatement()) {
+            // busy_timeout 必须最先设置，切换日志模式时可能需要等待其他连接释放锁
+            statement.execute("PRAGMA busy_timeout = " + settings.getBusyTimeoutMillis());
+            if (!readOnly) {
+                try (ResultSet rs = statement.executeQuery("PRAGMA journal_mode = " + settings.getJournalMode())) {
+                    if (rs.next() && !settings.getJournalMode().equalsIgnoreCase(rs.getString(1))) {
+                        logger.warning("Could not switch SQLite journal mode to " + settings.getJournalMode()
+                            + ", using " + rs.getString(1));
+                    }
+                }
+            }
+            statement.execute("PRAGMA synchronous = " + settings.getSynchronous());
+            // 负数表示以 KiB 为单位
+            statement.execute("PRAGMA cache_size = -" + settings.getCacheSizeKib());
+            statement.execute("PRAGMA mmap_size = " + settings.getMmapSizeBytes());
+            statement.execute("PRAGMA temp_store = " + settings.getTempStore());
+            if (readOnly) {
+                statement.execute("PRAGMA query_only = 1");
+            }
+        }
+    }
+
+    /**
+     * Leases the writer connection. Use it for anything that modifies the database.
+     * The writer is exclusive: other threads wait until the lease is closed, so a transaction
+     * started on it cannot interleave with other writes. Closing the lease returns the
+     * connection to the pool; the underlying connection is only closed by {@link #close()}.
+     *
+     * @return The database connection lease
+     * @throws SQLException if a database access error occurs or the writer stays busy past the busy timeout
+     */
+    public Connection getConnection() throws SQLException {
+        return requirePool().leaseWriter();
     }
 
     /**
-     * Closes the database connection.
+     * Leases a read-only connection. Reads on different threads run in parallel on separate
+     * connections; if the calling thread already holds the writer, the lease shares it so
+     * the thread sees its own uncommitted changes. Closing the lease returns the connection
+     * to the pool.
+     *
+     * @return The database connection lease
+     * @throws SQLException if a database access error occurs or no reader frees up within the busy timeout
+     */
+    public Connection getReadConnection() throws SQLException {
+        return requirePool().leaseReader();
+    }
+
+    private ConnectionPool requirePool() throws SQLException {
+        ConnectionPool current = pool;
+        if (current == null) {
+            throw new SQLException("Database has not been initialized");
+        }
+        return current;
+    }
+
+    /**
+     * Closes all pooled connections.
      *
      * @throws SQLException if a database access error occurs
      */
     public void close() throws SQLException {
-        if (connection != null && !connection.isClosed()) {
-            connection.close();
+        if (pool != null) {
+            pool.close();
         }
     }
 
@@ -108,6 +177,7 @@ public class DatabaseManager {
      *    - owner_id: 领地主人 (外键关联players)
      *    - parent_land_id: 父领地ID (支持子领地嵌套)
      *    - priority: 优先级 (解决重叠领地权限判断, 数值越大优先级越高)
+     *    - flags: 打包的规则位掩码 (每个 LandFlag 占一位, 与 land_flags 表保持同步)
      *    - created_at: 创建时间
      *    - updated_at: 最后修改时间
      * 
@@ -125,11 +195,17 @@ public class DatabaseManager {
      *    - granted_at: 授权时间
      *    - granted_by: 授权人ID
      *    - 联合主键: (land_id, player_id)
+     * 
+     * 5. lands_rtree (领地空间索引, R*Tree 虚拟表)
+     *    - id: 领地ID
+     *    - min_x, max_x, min_z, max_z: 领地边界
+     *    - 由 lands 表上的触发器维护, 与领地的增删改处于同一事务
      *
      * @throws SQLException if a database access error occurs
      */
     private void createTables() throws SQLException {
-        try (Statement statement = connection.createStatement()) {
+        try (Connection conn = getConnection();
+             Statement statement = conn.createStatement()) {
             // ========================================
             // 1. 玩家表 (players)
             // ========================================
@@ -163,6 +239,7 @@ public class DatabaseManager {
                 "teleport_z DOUBLE," +                   // 传送点 Z 坐标
                 "teleport_yaw FLOAT," +                  // 传送点 Yaw
                 "teleport_pitch FLOAT," +                // 传送点 Pitch
+                "flags INTEGER," +                       // 规则位掩码
                 "created_at DATETIME DEFAULT CURRENT_TIMESTAMP," +  // 创建时间
                 "updated_at DATETIME DEFAULT CURRENT_TIMESTAMP," +  // 修改时间
                 "FOREIGN KEY (owner_id) REFERENCES players (id) ON DELETE CASCADE," +
@@ -221,9 +298,84 @@ public class DatabaseManager {
             // 创建索引以提升查询性能
             // ========================================
             createIndexes(statement);
+
+            // ========================================
+            // 5. 领地空间索引 (lands_rtree)
+            // ========================================
+            landRTreeAvailable = createLandRTree(statement);
+        }
+    }
+
+    /**
+     * Creates the lands_rtree R*Tree index and the triggers that keep it in sync with the lands table.
+     * The triggers run inside the statement that modifies lands, so the index always commits or rolls
+     * back together with the land. The index is rebuilt if its row count does not match lands, e.g. for
+     * databases created before it existed.
+     *
+     * @param statement The SQL statement to use
+     * @return true if the index is available, false if this SQLite build lacks the R*Tree module
+     */
+    private boolean createLandRTree(Statement statement) {
+        String bounds = "MIN(NEW.x1, NEW.x2), MAX(NEW.x1, NEW.x2), MIN(NEW.z1, NEW.z2), MAX(NEW.z1, NEW.z2)";
+        try {
+            statement.execute("CREATE VIRTUAL TABLE IF NOT EXISTS lands_rtree USING rtree_i32(id, min_x, max_x, min_z, max_z)");
+            statement.execute(
+                "CREATE TRIGGER IF NOT EXISTS lands_rtree_insert AFTER INSERT ON lands BEGIN " +
+                "INSERT OR REPLACE INTO lands_rtree VALUES (NEW.id, " + bounds + "); " +
+                "END"
+            );
+            statement.execute(
+                "CREATE TRIGGER IF NOT EXISTS lands_rtree_update AFTER UPDATE OF id, x1, z1, x2, z2 ON lands BEGIN " +
+                "DELETE FROM lands_rtree WHERE id = OLD.id; " +
+                "INSERT OR REPLACE INTO lands_rtree VALUES (NEW.id, " + bounds + "); " +
+                "END"
+            );
+            statement.execute(
+                "CREATE TRIGGER IF NOT EXISTS lands_rtree_delete AFTER DELETE ON lands BEGIN " +
+                "DELETE FROM lands_rtree WHERE id = OLD.id; " +
+                "END"
+            );
+
+            // 空间索引与领地表不一致时重建
+            long landCount;
+            long indexedCount;
+            try (ResultSet rs = statement.executeQuery("SELECT COUNT(*) FROM lands")) {
+                landCount = rs.next() ? rs.getLong(1) : 0;
+            }
+            try (ResultSet rs = statement.executeQuery("SELECT COUNT(*) FROM lands_rtree")) {
+                indexedCount = rs.next() ? rs.getLong(1) : 0;
+            }
+            if (landCount != indexedCount) {
+                statement.execute("DELETE FROM lands_rtree");
+                statement.execute(
+                    "INSERT INTO lands_rtree SELECT id, MIN(x1, x2), MAX(x1, x2), MIN(z1, z2), MAX(z1, z2) FROM lands"
+                );
+                logger.info("Rebuilt lands_rtree spatial index for " + landCount + " lands.");
+            }
+            return true;
+        } catch (SQLException e) {
+            logger.warning("SQLite R*Tree module is unavailable, spatial queries will scan the lands table: " + e.getMessage());
+            // 没有 R*Tree 模块时触发器会使所有领地写入失败，必须移除
+            for (String trigger : new String[] {"lands_rtree_insert", "lands_rtree_update", "lands_rtree_delete"}) {
+                try {
+                    statement.execute("DROP TRIGGER IF EXISTS " + trigger);
+                } catch (SQLException ex) {
+                    logger.warning("Failed to drop trigger " + trigger + ": " + ex.getMessage());
+                }
+            }
+            return false;
         }
     }
 
+    /**
+     * Checks whether the lands_rtree spatial index is available.
+     *
+     * @return true if spatial queries can use the R*Tree index
+     */
+    public boolean hasLandRTree() {
+        return landRTreeAvailable;
+    }
+
     /**
      * Migrates existing tables by adding new columns if they don't exist.
      * This ensures backward compatibility with older database versions.
@@ -241,9 +393,11 @@ public class DatabaseManager {
         addColumnIfNotExists(statement, "lands", "priority", "INTEGER DEFAULT 0");
         addColumnIfNotExists(statement, "lands", "created_at", "DATETIME DEFAULT CURRENT_TIMESTAMP");
         addColumnIfNotExists(statement, "lands", "updated_at", "DATETIME DEFAULT CURRENT_TIMESTAMP");
+        addColumnIfNotExists(statement, "lands", "flags", "INTEGER");
 
         // 迁移 land_flags 表 (将 is_enabled 改为 flag_value)
         addColumnIfNotExists(statement, "land_flags", "flag_value", "TEXT NOT NULL DEFAULT 'true'");
+        ensureLandFlagsUnique(statement);
 
         // 迁移 land_trusts 表
         addColumnIfNotExists(statement, "land_trusts", "trust_level", "INTEGER NOT NULL DEFAULT 1");
@@ -273,6 +427,34 @@ public class DatabaseManager {
         }
     }
 
+    /**
+     * Ensures land_flags has a unique constraint on (land_id, flag_name), which flag updates rely on
+     * for their UPSERT. Tables created by old versions may lack it; their duplicate rows are removed,
+     * keeping the most recent one, before the unique index is added.
+     *
+     * @param statement The SQL statement to use
+     */
+    private void ensureLandFlagsUnique(Statement statement) {
+        try {
+            try (ResultSet rs = statement.executeQuery("PRAGMA index_list(land_flags)")) {
+                while (rs.next()) {
+                    if (rs.getInt("unique") == 1) {
+                        return;
+                    }
+                }
+            }
+
+            int removed = statement.executeUpdate(
+                "DELETE FROM land_flags WHERE rowid NOT IN " +
+                "(SELECT MAX(rowid) FROM land_flags GROUP BY land_id, flag_name)"
+            );
+            statement.execute("CREATE UNIQUE INDEX IF NOT EXISTS idx_land_flags_unique ON land_flags (land_id, flag_name)");
+            logger.info("Added unique index to land_flags table, removed " + removed + " duplicate rows.");
+        } catch (SQLException e) {
+            logger.warning("Failed to add unique index to land_flags: " + e.getMessage());
+        }
+    }
+
     /**
      * Creates indexes for better query performance.
      *
@@ -303,16 +485,12 @@ public class DatabaseManager {
     }
 
     /**
-     * Checks if the database connection is valid.
+     * Checks if the connection pool is open.
      *
-     * @return true if the connection is valid, false otherwise
+     * @return true if the pool is open, false otherwise
      */
     public boolean isConnected() {
-        try {
-            return connection != null && !connection.isClosed();
-        } catch (SQLException e) {
-            return false;
-        }
+        return pool != null && pool.isOpen();
     }
 
     /**
@@ -323,7 +501,8 @@ public class DatabaseManager {
      * @throws SQLException if a database access error occurs
      */
     public int executeUpdate(String sql) throws SQLException {
-        try (Statement statement = connection.createStatement()) {
+        try (Connection conn = getConnection();
+             Statement statement = conn.createStatement()) {
             return statement.executeUpdate(sql);
         }
     }
@@ -336,8 +515,10 @@ public class DatabaseManager {
      * @throws SQLException if a database access error occurs
      */
     public boolean executeQuery(String sql) throws SQLException {
-        try (Statement statement = connection.createStatement()) {
-            return statement.executeQuery(sql).next();
+        try (Connection conn = getReadConnection();
+             Statement statement = conn.createStatement();
+             ResultSet rs = statement.executeQuery(sql)) {
+            return rs.next();
         }
     }
 
@@ -349,6 +530,7 @@ public class DatabaseManager {
      */
     public void fixMissingData() throws SQLException {
         fixMissingFlags();
+        fixMissingFlagMasks();
         fixMissingTeleportLocations();
     }
 
@@ -394,6 +576,46 @@ public class DatabaseManager {
         }
     }
 
+    /**
+     * Fills the packed flags column for lands that only have rows in land_flags,
+     * e.g. lands created before the column existed.
+     *
+     * @throws SQLException if a database access error occurs
+     */
+    private void fixMissingFlagMasks() throws SQLException {
+        String selectSql = "SELECT l.id, lf.flag_name, lf.flag_value FROM lands l " +
+                           "LEFT JOIN land_flags lf ON lf.land_id = l.id WHERE l.flags IS NULL ORDER BY l.id";
+        String updateSql = "UPDATE lands SET flags = ? WHERE id = ?";
+        
+        try (Connection conn = getConnection();
+             Statement selectStmt = conn.createStatement();
+             ResultSet rs = selectStmt.executeQuery(selectSql);
+             PreparedStatement updateStmt = conn.prepareStatement(updateSql)) {
+            
+            java.util.Map<Integer, Long> masks = new java.util.LinkedHashMap<>();
+            while (rs.next()) {
+                int landId = rs.getInt("id");
+                long mask = masks.getOrDefault(landId, 0L);
+                LandFlag flag = LandFlag.fromName(rs.getString("flag_name"));
+                if (flag != null && "true".equalsIgnoreCase(rs.getString("flag_value"))) {
+                    mask |= flag.getBit();
+                }
+                masks.put(landId, mask);
+            }
+            
+            for (java.util.Map.Entry<Integer, Long> entry : masks.entrySet()) {
+                updateStmt.setLong(1, entry.getValue());
+                updateStmt.setInt(2, entry.getKey());
+                updateStmt.addBatch();
+            }
+            
+            if (!masks.isEmpty()) {
+                updateStmt.executeBatch();
+                logger.info("已为 " + masks.size() + " 个领地生成打包的标志列。");
+            }
+        }
+    }
+
     /**
      * Fixes missing teleport locations for lands.
      * Calculates the center of the land and sets it as the teleport location.
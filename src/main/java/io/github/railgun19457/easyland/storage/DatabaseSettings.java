@@ -0,0 +1,82 @@
+package io.github.railgun19457.easyland.storage;
+
+/**
+ * SQLite connection settings, read from the {@code database} section of config.yml.
+ * The pragma values are applied to every connection opened by {@link DatabaseManager}.
+ */
+public class DatabaseSettings {
+    private final String journalMode;
+    private final String synchronous;
+    private final int cacheSizeKib;
+    private final long mmapSizeBytes;
+    private final String tempStore;
+    private final int busyTimeoutMillis;
+    private final int readerConnections;
+    private final int statementCacheSize;
+
+    /**
+     * Constructor for DatabaseSettings.
+     *
+     * @param journalMode        The journal mode (e.g. WAL, DELETE)
+     * @param synchronous        The synchronous level (OFF, NORMAL, FULL, EXTRA)
+     * @param cacheSizeKib       The page cache size in KiB
+     * @param mmapSizeBytes      The maximum memory-mapped I/O size in bytes, 0 to disable
+     * @param tempStore          Where temporary tables are stored (DEFAULT, FILE, MEMORY)
+     * @param busyTimeoutMillis  How long to wait for a lock or a pooled connection before failing
+     * @param readerConnections  The number of read-only connections in the pool
+     * @param statementCacheSize The maximum number of idle prepared statements kept per SQL string
+     */
+    public DatabaseSettings(String journalMode, String synchronous, int cacheSizeKib, long mmapSizeBytes,
+                            String tempStore, int busyTimeoutMillis, int readerConnections, int statementCacheSize) {
+        this.journalMode = journalMode;
+        this.synchronous = synchronous;
+        this.cacheSizeKib = cacheSizeKib;
+        this.mmapSizeBytes = mmapSizeBytes;
+        this.tempStore = tempStore;
+        this.busyTimeoutMillis = busyTimeoutMillis;
+        this.readerConnections = readerConnections;
+        this.statementCacheSize = statementCacheSize;
+    }
+
+    /**
+     * Gets the default settings: WAL with NORMAL synchronous, a 16 MiB page cache,
+     * 256 MiB of memory-mapped I/O, in-memory temp tables, a 5 second busy timeout and 4 readers.
+     *
+     * @return The default settings
+     */
+    public static DatabaseSettings defaults() {
+        return new DatabaseSettings("WAL", "NORMAL", 16384, 256L * 1024 * 1024, "MEMORY", 5000, 4, 4);
+    }
+
+    public String getJournalMode() {
+        return journalMode;
+    }
+
+    public String getSynchronous() {
+        return synchronous;
+    }
+
+    public int getCacheSizeKib() {
+        return cacheSizeKib;
+    }
+
+    public long getMmapSizeBytes() {
+        return mmapSizeBytes;
+    }
+
+    public String getTempStore() {
+        return tempStore;
+    }
+
+    public int getBusyTimeoutMillis() {
+        return busyTimeoutMillis;
+    }
+
+    public int getReaderConnections() {
+        return readerConnections;
+    }
+
+    public int getStatementCacheSize() {
+        return statementCacheSize;
+    }
+}
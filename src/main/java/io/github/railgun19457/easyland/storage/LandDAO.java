@@ -1,6 +1,7 @@
 package io.github.railgun19457.easyland.storage;
 
 import io.github.railgun19457.easyland.model.Land;
+import io.github.railgun19457.easyland.model.LandSummary;
 import java.sql.SQLException;
 import java.util.List;
 import java.util.Optional;
@@ -122,6 +123,55 @@ public interface LandDAO {
      */
     List<Land> getAllLands() throws SQLException;
 
+    /**
+     * Gets the total number of lands.
+     *
+     * @return The number of lands
+     * @throws SQLException if a database access error occurs
+     */
+    int getLandCount() throws SQLException;
+
+    /**
+     * Gets a page of land summaries ordered by ID, starting after the given ID.
+     *
+     * @param afterId The ID of the last land on the previous page, 0 for the first page
+     * @param limit   The maximum number of summaries to return
+     * @return The summaries of the lands on the page
+     * @throws SQLException if a database access error occurs
+     */
+    List<LandSummary> getLandSummaries(int afterId, int limit) throws SQLException;
+
+    /**
+     * Gets a page of summaries of the lands owned by a player, ordered by ID, starting after the given ID.
+     *
+     * @param ownerId The ID of the owner
+     * @param afterId The ID of the last land on the previous page, 0 for the first page
+     * @param limit   The maximum number of summaries to return
+     * @return The summaries of the lands on the page
+     * @throws SQLException if a database access error occurs
+     */
+    List<LandSummary> getLandSummariesByOwner(int ownerId, int afterId, int limit) throws SQLException;
+
+    /**
+     * Gets the cursor for a page that starts at the given position, i.e. the ID of the land
+     * just before it when all lands are ordered by ID.
+     *
+     * @param offset The number of lands before the page
+     * @return The cursor to pass to {@link #getLandSummaries(int, int)}, or -1 if there are not that many lands
+     * @throws SQLException if a database access error occurs
+     */
+    int getPageCursor(int offset) throws SQLException;
+
+    /**
+     * Gets the cursor for a page of a player's lands that starts at the given position.
+     *
+     * @param ownerId The ID of the owner
+     * @param offset  The number of the player's lands before the page
+     * @return The cursor to pass to {@link #getLandSummariesByOwner(int, int, int)}, or -1 if there are not that many lands
+     * @throws SQLException if a database access error occurs
+     */
+    int getPageCursorByOwner(int ownerId, int offset) throws SQLException;
+
     /**
      * Retrieves all sub-lands of a parent land.
      *
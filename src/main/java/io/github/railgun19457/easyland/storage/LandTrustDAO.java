@@ -47,6 +47,15 @@ public interface LandTrustDAO {
      */
     List<LandTrust> getTrustsByPlayer(int playerId) throws SQLException;
 
+    /**
+     * Retrieves every land trust, ordered by land ID and player ID.
+     * Used to build the in-memory trust index at startup.
+     *
+     * @return A list of all land trusts
+     * @throws SQLException if a database access error occurs
+     */
+    List<LandTrust> getAllTrusts() throws SQLException;
+
     /**
      * Deletes a land trust by land ID and player ID.
      *
@@ -90,4 +90,20 @@ public interface PlayerDAO {
      * @throws SQLException if a database access error occurs
      */
     Player getOrCreatePlayer(UUID uuid, String name) throws SQLException;
+
+    /**
+     * Updates the last_seen timestamp of a player to the current time.
+     *
+     * @param playerId The ID of the player
+     * @throws SQLException if a database access error occurs
+     */
+    void updateLastSeen(int playerId) throws SQLException;
+
+    /**
+     * Gets all players who own at least one land.
+     *
+     * @return A list of land owners
+     * @throws SQLException if a database access error occurs
+     */
+    List<Player> getLandOwners() throws SQLException;
 }
\ No newline at end of file
@@ -2,6 +2,7 @@ package io.github.railgun19457.easyland.storage;
 
 import io.github.railgun19457.easyland.model.Land;
 import io.github.railgun19457.easyland.model.LandFlag;
+import io.github.railgun19457.easyland.model.LandSummary;
 //import io.github.railgun19457.easyland.model.Player;
 
 import java.sql.*;
@@ -14,6 +15,19 @@ import java.util.Optional;
  * Provides CRUD operations for land data using SQLite database.
  */
 public class SqliteLandDAO implements LandDAO {
+    // 与矩形区域相交的领地ID，由 lands_rtree 虚拟表在对数时间内找出
+    private static final String RTREE_INTERSECTS =
+        "l.id IN (SELECT id FROM lands_rtree WHERE max_x >= ? AND min_x <= ? AND max_z >= ? AND min_z <= ?)";
+    // 领地中心到给定坐标的距离平方
+    private static final String DISTANCE_SQ =
+        "((x1 + x2) / 2 - ?) * ((x1 + x2) / 2 - ?) + ((z1 + z2) / 2 - ?) * ((z1 + z2) / 2 - ?) AS distance_sq";
+    // 分页列表只读取显示所需的列
+    private static final String SUMMARY_COLUMNS =
+        "id, name, world, x1, z1, x2, z2, owner_id, parent_land_id, teleport_x, teleport_y, teleport_z";
+    // 最近领地搜索的初始和最大窗口半径，最大值超过原版世界边界
+    private static final long NEAREST_INITIAL_RADIUS = 64;
+    private static final long NEAREST_MAX_RADIUS = 1L << 25;
+
     private final DatabaseManager databaseManager;
 
     /**
@@ -27,7 +41,7 @@ public class SqliteLandDAO implements LandDAO {
 
     @Override
     public void createLand(Land land) throws SQLException {
-        String sql = "INSERT INTO lands (name, world, x1, z1, x2, z2, owner_id, parent_land_id, teleport_x, teleport_y, teleport_z, teleport_yaw, teleport_pitch) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        String sql = "INSERT INTO lands (name, world, x1, z1, x2, z2, owner_id, parent_land_id, teleport_x, teleport_y, teleport_z, teleport_yaw, teleport_pitch, flags) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
         
         try (Connection conn = databaseManager.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
@@ -59,6 +73,8 @@ public class SqliteLandDAO implements LandDAO {
                 stmt.setNull(13, Types.FLOAT);
             }
             
+            stmt.setLong(14, land.getFlagMask());
+            
             stmt.executeUpdate();
             
             try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
@@ -73,17 +89,16 @@ public class SqliteLandDAO implements LandDAO {
             // 但由于 createLand 接口只接收 Land 对象，我们假设 Land 对象已经包含了所有需要的标志
             // 或者，我们可以依赖 ensureAllFlagsExist 在启动时修复，但这不适用于运行时创建的领地
             // 因此，最好在 LandManager 中创建 Land 时就填充默认标志
-            if (land.getFlagMap() != null && !land.getFlagMap().isEmpty()) {
-                insertLandFlags(conn, land.getId(), land.getFlagMap());
-            }
+            insertLandFlags(conn, land.getId(), land.getFlagMap());
         }
+        land.markClean();
     }
 
     @Override
     public Optional<Land> getLandById(int id) throws SQLException {
         String sql = "SELECT * FROM lands WHERE id = ?";
         
-        try (Connection conn = databaseManager.getConnection();
+        try (Connection conn = databaseManager.getReadConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
             
             stmt.setInt(1, id);
@@ -103,7 +118,7 @@ public class SqliteLandDAO implements LandDAO {
     public Optional<Land> getLandByName(String name) throws SQLException {
         String sql = "SELECT * FROM lands WHERE name = ?";
         
-        try (Connection conn = databaseManager.getConnection();
+        try (Connection conn = databaseManager.getReadConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
             
             stmt.setString(1, name);
@@ -120,29 +135,31 @@ public class SqliteLandDAO implements LandDAO {
 
     @Override
     public Optional<Land> getNearestLand(String world, int x, int z) throws SQLException {
-        // Calculate distance using squared Euclidean distance to avoid square roots in SQL if possible,
-        // but SQLite doesn't have a simple distance function.
-        // We'll select lands in the same world and order by distance.
         // Distance = (center_x - x)^2 + (center_z - z)^2
         // center_x = (x1 + x2) / 2, center_z = (z1 + z2) / 2
-        // To simplify, we can just use the distance to the center of the land.
-        
-        String sql = "SELECT *, " +
-                     "((x1 + x2) / 2 - ?) * ((x1 + x2) / 2 - ?) + " +
-                     "((z1 + z2) / 2 - ?) * ((z1 + z2) / 2 - ?) AS distance_sq " +
-                     "FROM lands WHERE world = ? " +
-                     "ORDER BY distance_sq ASC LIMIT 1";
-        
-        try (Connection conn = databaseManager.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            
-            stmt.setInt(1, x);
-            stmt.setInt(2, x);
-            stmt.setInt(3, z);
-            stmt.setInt(4, z);
-            stmt.setString(5, world);
-            
-            try (ResultSet rs = stmt.executeQuery()) {
+        //
+        // With the R*Tree, search square windows of doubling radius r around (x, z). A land whose
+        // center lies within distance r has its center inside the window, so its bounds intersect it.
+        // Once the closest land in a window is within distance r, no land outside the window is closer.
+        try (Connection conn = databaseManager.getReadConnection()) {
+            if (databaseManager.hasLandRTree()) {
+                String windowSql = "SELECT *, " + DISTANCE_SQ + " FROM lands l WHERE world = ? AND " + RTREE_INTERSECTS +
+                                   " ORDER BY distance_sq ASC LIMIT 1";
+                for (long radius = NEAREST_INITIAL_RADIUS; radius <= NEAREST_MAX_RADIUS; radius *= 2) {
+                    try (PreparedStatement stmt = prepare(conn, windowSql, x, x, z, z, world,
+                            x - radius, x + radius, z - radius, z + radius);
+                         ResultSet rs = stmt.executeQuery()) {
+                        if (rs.next() && rs.getLong("distance_sq") <= radius * radius) {
+                            return Optional.of(mapResultSetToLand(conn, rs));
+                        }
+                    }
+                }
+            }
+
+            // 没有 R*Tree 或窗口内没有足够近的领地时，扫描整个世界
+            String scanSql = "SELECT *, " + DISTANCE_SQ + " FROM lands WHERE world = ? ORDER BY distance_sq ASC LIMIT 1";
+            try (PreparedStatement stmt = prepare(conn, scanSql, x, x, z, z, world);
+                 ResultSet rs = stmt.executeQuery()) {
                 if (rs.next()) {
                     return Optional.of(mapResultSetToLand(conn, rs));
                 }
@@ -154,119 +171,117 @@ public class SqliteLandDAO implements LandDAO {
 
     @Override
     public List<Land> getLandsByOwner(int ownerId) throws SQLException {
-        String sql = "SELECT * FROM lands WHERE owner_id = ? ORDER BY id";
-        List<Land> lands = new ArrayList<>();
-        
-        try (Connection conn = databaseManager.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            
-            stmt.setInt(1, ownerId);
-            
-            try (ResultSet rs = stmt.executeQuery()) {
-                while (rs.next()) {
-                    lands.add(mapResultSetToLand(conn, rs));
-                }
-            }
-        }
-        
-        return lands;
+        return loadLands("l.owner_id = ?", ownerId);
     }
 
     @Override
     public List<Land> getLandsByWorld(String world) throws SQLException {
-        String sql = "SELECT * FROM lands WHERE world = ? ORDER BY id";
-        List<Land> lands = new ArrayList<>();
-        
-        try (Connection conn = databaseManager.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            
-            stmt.setString(1, world);
-            
-            try (ResultSet rs = stmt.executeQuery()) {
-                while (rs.next()) {
-                    lands.add(mapResultSetToLand(conn, rs));
-                }
-            }
-        }
-        
-        return lands;
+        return loadLands("l.world = ?", world);
     }
 
     @Override
     public List<Land> getLandsAtLocation(String world, int x, int z) throws SQLException {
-        String sql = "SELECT * FROM lands WHERE world = ? AND x1 <= ? AND x2 >= ? AND z1 <= ? AND z2 >= ?";
-        List<Land> lands = new ArrayList<>();
-        
-        try (Connection conn = databaseManager.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            
-            stmt.setString(1, world);
-            stmt.setInt(2, x);
-            stmt.setInt(3, x);
-            stmt.setInt(4, z);
-            stmt.setInt(5, z);
-            
-            try (ResultSet rs = stmt.executeQuery()) {
-                while (rs.next()) {
-                    lands.add(mapResultSetToLand(conn, rs));
-                }
-            }
+        if (databaseManager.hasLandRTree()) {
+            return loadLands("l.world = ? AND " + RTREE_INTERSECTS, world, x, x, z, z);
         }
-        
-        return lands;
+        return loadLands("l.world = ? AND l.x1 <= ? AND l.x2 >= ? AND l.z1 <= ? AND l.z2 >= ?", world, x, x, z, z);
     }
 
     @Override
     public void updateLand(Land land) throws SQLException {
-        String sql = "UPDATE lands SET name = ?, world = ?, x1 = ?, z1 = ?, x2 = ?, z2 = ?, owner_id = ?, parent_land_id = ?, teleport_x = ?, teleport_y = ?, teleport_z = ?, teleport_yaw = ?, teleport_pitch = ? WHERE id = ?";
-        
-        try (Connection conn = databaseManager.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            
-            stmt.setString(1, land.getName());
-            stmt.setString(2, land.getWorld());
-            stmt.setInt(3, land.getX1());
-            stmt.setInt(4, land.getZ1());
-            stmt.setInt(5, land.getX2());
-            stmt.setInt(6, land.getZ2());
-            stmt.setInt(7, land.getOwnerId());
-            if (land.getParentLandId() != null) {
-                stmt.setInt(8, land.getParentLandId());
-            } else {
-                stmt.setNull(8, java.sql.Types.INTEGER);
+        java.util.Set<Land.Field> dirtyFields = land.getDirtyFields();
+        if (dirtyFields.isEmpty()) {
+            return;
+        }
+
+        // 只更新自加载以来被修改的列
+        StringBuilder sql = new StringBuilder("UPDATE lands SET ");
+        List<Object> params = new ArrayList<>();
+        for (Land.Field field : dirtyFields) {
+            switch (field) {
+                case NAME -> appendColumn(sql, params, "name", land.getName());
+                case WORLD -> appendColumn(sql, params, "world", land.getWorld());
+                case COORDINATES -> {
+                    appendColumn(sql, params, "x1", land.getX1());
+                    appendColumn(sql, params, "z1", land.getZ1());
+                    appendColumn(sql, params, "x2", land.getX2());
+                    appendColumn(sql, params, "z2", land.getZ2());
+                }
+                case OWNER -> appendColumn(sql, params, "owner_id", land.getOwnerId());
+                case PARENT -> appendColumn(sql, params, "parent_land_id", land.getParentLandId());
+                case TELEPORT -> {
+                    // 传送点的五个值总是同时设置或同时清空
+                    boolean hasTeleport = land.getTeleportX() != null;
+                    appendColumn(sql, params, "teleport_x", land.getTeleportX());
+                    appendColumn(sql, params, "teleport_y", hasTeleport ? land.getTeleportY() : null);
+                    appendColumn(sql, params, "teleport_z", hasTeleport ? land.getTeleportZ() : null);
+                    appendColumn(sql, params, "teleport_yaw", hasTeleport ? land.getTeleportYaw() : null);
+                    appendColumn(sql, params, "teleport_pitch", hasTeleport ? land.getTeleportPitch() : null);
+                }
+                case FLAGS -> appendColumn(sql, params, "flags", land.getFlagMask());
             }
-            
-            if (land.getTeleportX() != null) {
-                stmt.setDouble(9, land.getTeleportX());
-                stmt.setDouble(10, land.getTeleportY());
-                stmt.setDouble(11, land.getTeleportZ());
-                stmt.setFloat(12, land.getTeleportYaw());
-                stmt.setFloat(13, land.getTeleportPitch());
-            } else {
-                stmt.setNull(9, Types.DOUBLE);
-                stmt.setNull(10, Types.DOUBLE);
-                stmt.setNull(11, Types.DOUBLE);
-                stmt.setNull(12, Types.FLOAT);
-                stmt.setNull(13, Types.FLOAT);
+        }
+        sql.append(" WHERE id = ?");
+        params.add(land.getId());
+
+        long dirtyFlags = land.getDirtyFlagMask();
+
+        try (Connection conn = databaseManager.getConnection()) {
+            if (dirtyFlags == 0) {
+                // 单条语句本身就是原子的，无需显式事务
+                try (PreparedStatement stmt = prepare(conn, sql.toString(), params.toArray())) {
+                    stmt.executeUpdate();
+                }
+                land.markClean();
+                return;
             }
-            
-            stmt.setInt(14, land.getId());
-            
-            stmt.executeUpdate();
-            
-            // 更新标志
-            if (land.getFlagMap() != null) {
-                deleteLandFlags(conn, land.getId());
-                insertLandFlags(conn, land.getId(), land.getFlagMap());
+
+            // 禁用自动提交，开启事务
+            boolean originalAutoCommit = conn.getAutoCommit();
+            conn.setAutoCommit(false);
+
+            try {
+                try (PreparedStatement stmt = prepare(conn, sql.toString(), params.toArray())) {
+                    stmt.executeUpdate();
+                }
+
+                // 同步更新 land_flags 表中发生变化的标志
+                upsertLandFlags(conn, land, dirtyFlags);
+
+                // 所有操作成功，提交事务
+                conn.commit();
+            } catch (SQLException e) {
+                // 发生异常，回滚事务
+                conn.rollback();
+                throw e;
+            } finally {
+                // 恢复原始的自动提交设置
+                conn.setAutoCommit(originalAutoCommit);
             }
         }
+
+        land.markClean();
+    }
+
+    /**
+     * Appends a {@code column = ?} assignment to an UPDATE statement and records its parameter.
+     *
+     * @param sql    The statement being built
+     * @param params The parameters of the statement
+     * @param column The column to assign
+     * @param value  The value to bind, may be null
+     */
+    private void appendColumn(StringBuilder sql, List<Object> params, String column, Object value) {
+        if (!params.isEmpty()) {
+            sql.append(", ");
+        }
+        sql.append(column).append(" = ?");
+        params.add(value);
     }
 
     @Override
     public void deleteLand(int id) throws SQLException {
-        Connection conn = null;
-        try {
-            conn = databaseManager.getConnection();
+        try (Connection conn = databaseManager.getConnection()) {
             // 禁用自动提交，开启事务
             boolean originalAutoCommit = conn.getAutoCommit();
             conn.setAutoCommit(false);
@@ -293,43 +308,22 @@ public class SqliteLandDAO implements LandDAO {
                 // 恢复原始的自动提交设置
                 conn.setAutoCommit(originalAutoCommit);
             }
-        } finally {
-            if (conn != null) {
-                conn.close();
-            }
         }
     }
 
     @Override
     public List<Land> getOverlappingLands(String world, int x1, int z1, int x2, int z2) throws SQLException {
-        String sql = "SELECT * FROM lands WHERE world = ? AND " +
-                    "NOT (x2 < ? OR x1 > ? OR z2 < ? OR z1 > ?)";
-        List<Land> lands = new ArrayList<>();
-        
-        try (Connection conn = databaseManager.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            
-            stmt.setString(1, world);
-            stmt.setInt(2, x1);
-            stmt.setInt(3, x2);
-            stmt.setInt(4, z1);
-            stmt.setInt(5, z2);
-            
-            try (ResultSet rs = stmt.executeQuery()) {
-                while (rs.next()) {
-                    lands.add(mapResultSetToLand(conn, rs));
-                }
-            }
+        if (databaseManager.hasLandRTree()) {
+            return loadLands("l.world = ? AND " + RTREE_INTERSECTS, world, x1, x2, z1, z2);
         }
-        
-        return lands;
+        return loadLands("l.world = ? AND NOT (l.x2 < ? OR l.x1 > ? OR l.z2 < ? OR l.z1 > ?)", world, x1, x2, z1, z2);
     }
 
     @Override
     public int getLandCountByOwner(int ownerId) throws SQLException {
         String sql = "SELECT COUNT(*) FROM lands WHERE owner_id = ?";
         
-        try (Connection conn = databaseManager.getConnection();
+        try (Connection conn = databaseManager.getReadConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
             
             stmt.setInt(1, ownerId);
@@ -346,44 +340,249 @@ public class SqliteLandDAO implements LandDAO {
 
     @Override
     public List<Land> getAllLands() throws SQLException {
-        String sql = "SELECT * FROM lands ORDER BY id";
-        List<Land> lands = new ArrayList<>();
-        
-        try (Connection conn = databaseManager.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            
-            try (ResultSet rs = stmt.executeQuery()) {
-                while (rs.next()) {
-                    lands.add(mapResultSetToLand(conn, rs));
-                }
+        return loadLands(null);
+    }
+
+    @Override
+    public int getLandCount() throws SQLException {
+        String sql = "SELECT COUNT(*) FROM lands";
+
+        try (Connection conn = databaseManager.getReadConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql);
+             ResultSet rs = stmt.executeQuery()) {
+            if (rs.next()) {
+                return rs.getInt(1);
             }
         }
-        
-        return lands;
+
+        return 0;
+    }
+
+    @Override
+    public List<LandSummary> getLandSummaries(int afterId, int limit) throws SQLException {
+        String sql = "SELECT " + SUMMARY_COLUMNS + " FROM lands WHERE id > ? ORDER BY id LIMIT ?";
+        return loadSummaries(sql, afterId, limit);
+    }
+
+    @Override
+    public List<LandSummary> getLandSummariesByOwner(int ownerId, int afterId, int limit) throws SQLException {
+        // idx_lands_owner 按 (owner_id, id) 排序，可以直接定位到游标之后
+        String sql = "SELECT " + SUMMARY_COLUMNS + " FROM lands WHERE owner_id = ? AND id > ? ORDER BY id LIMIT ?";
+        return loadSummaries(sql, ownerId, afterId, limit);
+    }
+
+    @Override
+    public int getPageCursor(int offset) throws SQLException {
+        if (offset <= 0) {
+            return 0;
+        }
+        // 只遍历主键，不读取领地行
+        return findCursor("SELECT id FROM lands ORDER BY id LIMIT 1 OFFSET ?", offset - 1);
+    }
+
+    @Override
+    public int getPageCursorByOwner(int ownerId, int offset) throws SQLException {
+        if (offset <= 0) {
+            return 0;
+        }
+        // 只遍历 idx_lands_owner 索引，不读取领地行
+        return findCursor("SELECT id FROM lands WHERE owner_id = ? ORDER BY id LIMIT 1 OFFSET ?", ownerId, offset - 1);
     }
 
     @Override
     public List<Land> getSubLands(int parentLandId) throws SQLException {
-        String sql = "SELECT * FROM lands WHERE parent_land_id = ? ORDER BY id";
+        return loadLands("l.parent_land_id = ?", parentLandId);
+    }
+
+    /**
+     * Runs a summary query and maps every row to a LandSummary.
+     *
+     * @param sql    The query selecting {@link #SUMMARY_COLUMNS}
+     * @param params The parameters bound to the query
+     * @return The summaries in query order
+     * @throws SQLException if a database access error occurs
+     */
+    private List<LandSummary> loadSummaries(String sql, Object... params) throws SQLException {
+        List<LandSummary> summaries = new ArrayList<>();
+
+        try (Connection conn = databaseManager.getReadConnection();
+             PreparedStatement stmt = prepare(conn, sql, params);
+             ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                summaries.add(mapSummaryRow(rs));
+            }
+        }
+
+        return summaries;
+    }
+
+    /**
+     * Runs a single-column ID query used to locate a page cursor.
+     *
+     * @param sql    The query returning at most one land ID
+     * @param params The parameters bound to the query
+     * @return The ID, or -1 if the query returned no row
+     * @throws SQLException if a database access error occurs
+     */
+    private int findCursor(String sql, Object... params) throws SQLException {
+        try (Connection conn = databaseManager.getReadConnection();
+             PreparedStatement stmt = prepare(conn, sql, params);
+             ResultSet rs = stmt.executeQuery()) {
+            return rs.next() ? rs.getInt(1) : -1;
+        }
+    }
+
+    /**
+     * Loads all lands matching a condition together with their flags and trusted players.
+     * <p>
+     * Instead of querying flags and trusts once per land, this runs three scans ordered by land ID
+     * (lands, legacy flag rows, and trusts joined with players) and merges them in a single pass.
+     * The scans share one read transaction, so they all see the same committed snapshot.
+     *
+     * @param where  The SQL condition on the {@code lands} table aliased as {@code l}, or null for all lands
+     * @param params The parameters bound to the condition
+     * @return The matching lands ordered by ID
+     * @throws SQLException if a database access error occurs
+     */
+    private List<Land> loadLands(String where, Object... params) throws SQLException {
+        String condition = where != null ? " WHERE " + where : "";
+        String landSql = "SELECT l.* FROM lands l" + condition + " ORDER BY l.id";
+        // 只有 flags 列为空的旧数据才需要读取 land_flags 表
+        String flagSql = "SELECT lf.land_id, lf.flag_name, lf.flag_value FROM land_flags lf " +
+                         "JOIN lands l ON l.id = lf.land_id WHERE l.flags IS NULL" +
+                         (where != null ? " AND (" + where + ")" : "") + " ORDER BY lf.land_id";
+        String trustSql = "SELECT lt.land_id, p.id, p.uuid, p.name FROM land_trusts lt " +
+                          "JOIN lands l ON l.id = lt.land_id JOIN players p ON p.id = lt.player_id" +
+                          condition + " ORDER BY lt.land_id";
         List<Land> lands = new ArrayList<>();
-        
-        try (Connection conn = databaseManager.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            
-            stmt.setInt(1, parentLandId);
-            
-            try (ResultSet rs = stmt.executeQuery()) {
-                while (rs.next()) {
-                    lands.add(mapResultSetToLand(conn, rs));
-                }
+
+        try (Connection conn = databaseManager.getReadConnection()) {
+            // 调用方已处于事务中（例如在写连接上）时直接沿用该事务
+            if (!conn.getAutoCommit()) {
+                scanLands(conn, lands, landSql, flagSql, trustSql, params);
+                return lands;
+            }
+
+            // 开启读事务，使三次扫描读取同一个已提交的快照
+            conn.setAutoCommit(false);
+            try {
+                scanLands(conn, lands, landSql, flagSql, trustSql, params);
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                // 恢复自动提交
+                conn.setAutoCommit(true);
             }
         }
-        
+
         return lands;
     }
 
     /**
-     * Maps a ResultSet to a Land object.
+     * Runs the three scans of {@link #loadLands} on one connection and merges them into the given list.
+     *
+     * @param conn     The connection, inside a read transaction
+     * @param lands    The list receiving the lands ordered by ID
+     * @param landSql  The lands scan
+     * @param flagSql  The legacy land_flags scan
+     * @param trustSql The land_trusts scan
+     * @param params   The parameters bound to each scan
+     * @throws SQLException if a database access error occurs
+     */
+    private void scanLands(Connection conn, List<Land> lands, String landSql, String flagSql, String trustSql,
+                           Object... params) throws SQLException {
+        try (PreparedStatement stmt = prepare(conn, landSql, params);
+             ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                Land land = mapLandRow(rs);
+                land.setTrustedPlayers(new ArrayList<>());
+                lands.add(land);
+            }
+        }
+        if (lands.isEmpty()) {
+            return;
+        }
+
+        try (PreparedStatement stmt = prepare(conn, flagSql, params);
+             ResultSet rs = stmt.executeQuery()) {
+            int cursor = 0;
+            Land current = null;
+            java.util.Map<LandFlag, Boolean> flags = null;
+            while (rs.next()) {
+                int landId = rs.getInt("land_id");
+                if (current == null || current.getId() != landId) {
+                    if (current != null) {
+                        applyLegacyFlags(current, flags);
+                        current = null;
+                    }
+                    cursor = seek(lands, cursor, landId);
+                    if (cursor == lands.size() || lands.get(cursor).getId() != landId) {
+                        continue;
+                    }
+                    current = lands.get(cursor);
+                    flags = new java.util.HashMap<>();
+                }
+                LandFlag flag = LandFlag.fromName(rs.getString("flag_name"));
+                if (flag != null) {
+                    flags.put(flag, "true".equalsIgnoreCase(rs.getString("flag_value")));
+                }
+            }
+            if (current != null) {
+                applyLegacyFlags(current, flags);
+            }
+        }
+
+        try (PreparedStatement stmt = prepare(conn, trustSql, params);
+             ResultSet rs = stmt.executeQuery()) {
+            int cursor = 0;
+            while (rs.next()) {
+                int landId = rs.getInt("land_id");
+                cursor = seek(lands, cursor, landId);
+                if (cursor < lands.size() && lands.get(cursor).getId() == landId) {
+                    lands.get(cursor).getTrustedPlayers().add(mapPlayerRow(rs));
+                }
+            }
+        }
+    }
+
+    /**
+     * Prepares a statement and binds the given parameters in order.
+     *
+     * @param conn   The database connection
+     * @param sql    The SQL statement
+     * @param params The parameters to bind
+     * @return The prepared statement
+     * @throws SQLException if a database access error occurs
+     */
+    private PreparedStatement prepare(Connection conn, String sql, Object... params) throws SQLException {
+        PreparedStatement stmt = conn.prepareStatement(sql);
+        for (int i = 0; i < params.length; i++) {
+            stmt.setObject(i + 1, params[i]);
+        }
+        return stmt;
+    }
+
+    /**
+     * Advances a cursor over lands ordered by ID to the first land whose ID is not less than the given ID.
+     * Rows without a matching land are skipped by the caller.
+     *
+     * @param lands  The lands ordered by ID
+     * @param cursor The current cursor position
+     * @param landId The land ID to seek
+     * @return The new cursor position, or the list size if every remaining land has a smaller ID
+     */
+    private int seek(List<Land> lands, int cursor, int landId) {
+        while (cursor < lands.size() && lands.get(cursor).getId() < landId) {
+            cursor++;
+        }
+        return cursor;
+    }
+
+    /**
+     * Maps a ResultSet to a Land object, loading its legacy flags and trusted players.
+     * Used for single-land lookups; lists of lands are loaded by {@link #loadLands}.
      *
      * @param conn The database connection
      * @param rs The ResultSet to map
@@ -391,6 +590,41 @@ public class SqliteLandDAO implements LandDAO {
      * @throws SQLException if a database access error occurs
      */
     private Land mapResultSetToLand(Connection conn, ResultSet rs) throws SQLException {
+        Land land = mapLandRow(rs);
+        
+        // 标志列为空（例如刚迁移的旧数据）时回退到 land_flags 表
+        if (rs.getObject("flags") == null) {
+            applyLegacyFlags(land, loadLandFlags(conn, land.getId()));
+        }
+        
+        // 加载信任玩家
+        land.setTrustedPlayers(loadLandTrusts(conn, land.getId()));
+        
+        return land;
+    }
+
+    /**
+     * Applies flags read from the land_flags table to a land whose packed flags column is empty.
+     * The land_flags rows are already up to date, so only the packed column stays dirty.
+     *
+     * @param land  The land loaded by {@link #mapLandRow}
+     * @param flags The flags read from the land_flags table
+     */
+    private void applyLegacyFlags(Land land, java.util.Map<LandFlag, Boolean> flags) {
+        land.setFlagMap(flags);
+        land.markClean();
+        land.markDirty(Land.Field.FLAGS);
+    }
+
+    /**
+     * Maps the columns of a lands row to a Land object, without flags from
+     * the land_flags table or trusted players.
+     *
+     * @param rs The ResultSet positioned at a lands row
+     * @return The mapped Land object
+     * @throws SQLException if a database access error occurs
+     */
+    private Land mapLandRow(ResultSet rs) throws SQLException {
         Land land = new Land();
         land.setId(rs.getInt("id"));
         land.setName(rs.getString("name"));
@@ -419,15 +653,74 @@ public class SqliteLandDAO implements LandDAO {
             land.setTeleportPitch(rs.getFloat("teleport_pitch"));
         }
         
-        // 加载标志和信任玩家
-        // 注意：这会导致 N+1 查询问题，但在当前架构下是必要的，以确保 Land 对象完整
-        // 如果性能成为问题，可以考虑使用 JOIN 查询或批量加载
-        land.setFlagMap(loadLandFlags(conn, land.getId()));
-        land.setTrustedPlayers(loadLandTrusts(conn, land.getId()));
+        // 标志优先从打包的 flags 列读取，为空时由调用方从 land_flags 表加载
+        long flagMask = rs.getLong("flags");
+        boolean legacyFlags = rs.wasNull();
+        if (!legacyFlags) {
+            land.setFlagMask(flagMask);
+        }
+        
+        // 刚加载的领地没有未保存的修改；旧数据的 flags 列为空，下次更新时需要写入
+        land.markClean();
+        if (legacyFlags) {
+            land.markDirty(Land.Field.FLAGS);
+        }
         
         return land;
     }
 
+    /**
+     * Maps a row selected with {@link #SUMMARY_COLUMNS} to a LandSummary.
+     *
+     * @param rs The ResultSet positioned at a summary row
+     * @return The mapped LandSummary object
+     * @throws SQLException if a database access error occurs
+     */
+    private LandSummary mapSummaryRow(ResultSet rs) throws SQLException {
+        int parentLandId = rs.getInt("parent_land_id");
+        Integer parent = rs.wasNull() ? null : parentLandId;
+
+        Double teleportX = null;
+        Double teleportY = null;
+        Double teleportZ = null;
+        double x = rs.getDouble("teleport_x");
+        if (!rs.wasNull()) {
+            teleportX = x;
+            teleportY = rs.getDouble("teleport_y");
+            teleportZ = rs.getDouble("teleport_z");
+        }
+
+        return new LandSummary(
+            rs.getInt("id"),
+            rs.getString("name"),
+            rs.getString("world"),
+            rs.getInt("x1"),
+            rs.getInt("z1"),
+            rs.getInt("x2"),
+            rs.getInt("z2"),
+            rs.getInt("owner_id"),
+            parent,
+            teleportX,
+            teleportY,
+            teleportZ
+        );
+    }
+
+    /**
+     * Maps the player columns of a row to a Player object.
+     *
+     * @param rs The ResultSet positioned at a row containing id, uuid and name columns
+     * @return The mapped Player object
+     * @throws SQLException if a database access error occurs
+     */
+    private io.github.railgun19457.easyland.model.Player mapPlayerRow(ResultSet rs) throws SQLException {
+        io.github.railgun19457.easyland.model.Player player = new io.github.railgun19457.easyland.model.Player();
+        player.setId(rs.getInt("id"));
+        player.setUuid(java.util.UUID.fromString(rs.getString("uuid")));
+        player.setName(rs.getString("name"));
+        return player;
+    }
+
     /**
      * Deletes all flags for a land.
      *
@@ -478,15 +771,9 @@ public class SqliteLandDAO implements LandDAO {
             
             try (ResultSet rs = stmt.executeQuery()) {
                 while (rs.next()) {
-                    String flagName = rs.getString("flag_name");
-                    String flagValue = rs.getString("flag_value");
-                    boolean value = "true".equalsIgnoreCase(flagValue);
-                    
-                    for (LandFlag flag : LandFlag.values()) {
-                        if (flag.getName().equalsIgnoreCase(flagName)) {
-                            flags.put(flag, value);
-                            break;
-                        }
+                    LandFlag flag = LandFlag.fromName(rs.getString("flag_name"));
+                    if (flag != null) {
+                        flags.put(flag, "true".equalsIgnoreCase(rs.getString("flag_value")));
                     }
                 }
             }
@@ -513,11 +800,7 @@ public class SqliteLandDAO implements LandDAO {
             
             try (ResultSet rs = stmt.executeQuery()) {
                 while (rs.next()) {
-                    io.github.railgun19457.easyland.model.Player player = new io.github.railgun19457.easyland.model.Player();
-                    player.setId(rs.getInt("id"));
-                    player.setUuid(java.util.UUID.fromString(rs.getString("uuid")));
-                    player.setName(rs.getString("name"));
-                    trustedPlayers.add(player);
+                    trustedPlayers.add(mapPlayerRow(rs));
                 }
             }
         }
@@ -525,6 +808,31 @@ public class SqliteLandDAO implements LandDAO {
         return trustedPlayers;
     }
 
+    /**
+     * Inserts or updates the land_flags rows of the given flags.
+     *
+     * @param conn      The database connection
+     * @param land      The land whose flag values are written
+     * @param flagMask  The flags to write, one bit per {@link LandFlag}
+     * @throws SQLException if a database access error occurs
+     */
+    private void upsertLandFlags(Connection conn, Land land, long flagMask) throws SQLException {
+        String sql = "INSERT INTO land_flags (land_id, flag_name, flag_value) VALUES (?, ?, ?) " +
+                     "ON CONFLICT (land_id, flag_name) DO UPDATE SET flag_value = excluded.flag_value";
+
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            for (LandFlag flag : LandFlag.values()) {
+                if ((flagMask & flag.getBit()) != 0) {
+                    stmt.setInt(1, land.getId());
+                    stmt.setString(2, flag.getName());
+                    stmt.setString(3, String.valueOf(land.hasFlag(flag)));
+                    stmt.addBatch();
+                }
+            }
+            stmt.executeBatch();
+        }
+    }
+
     /**
      * Inserts flags for a land.
      *
@@ -549,12 +857,15 @@ public class SqliteLandDAO implements LandDAO {
 
     @Override
     public void ensureAllFlagsExist(java.util.Map<String, Boolean> defaultFlags) throws SQLException {
-        // 使用 INSERT OR IGNORE 批量插入缺失的标志
+        // 先将默认开启的缺失标志合并到打包的 flags 列，再使用 INSERT OR IGNORE 批量插入缺失的标志行
+        String maskSql = "UPDATE lands SET flags = flags | ? " +
+                         "WHERE flags IS NOT NULL AND NOT EXISTS (SELECT 1 FROM land_flags lf WHERE lf.land_id = lands.id AND lf.flag_name = ?)";
         String sql = "INSERT OR IGNORE INTO land_flags (land_id, flag_name, flag_value) " +
                      "SELECT l.id, ?, ? FROM lands l " +
                      "WHERE NOT EXISTS (SELECT 1 FROM land_flags lf WHERE lf.land_id = l.id AND lf.flag_name = ?)";
         
         try (Connection conn = databaseManager.getConnection();
+             PreparedStatement maskStmt = conn.prepareStatement(maskSql);
              PreparedStatement stmt = conn.prepareStatement(sql)) {
             
             // 关闭自动提交以提高性能
@@ -565,6 +876,13 @@ public class SqliteLandDAO implements LandDAO {
                 for (java.util.Map.Entry<String, Boolean> entry : defaultFlags.entrySet()) {
                     String flagName = entry.getKey();
                     String flagValue = String.valueOf(entry.getValue());
+                    LandFlag flag = LandFlag.fromName(flagName);
+                    
+                    if (flag != null && Boolean.TRUE.equals(entry.getValue())) {
+                        maskStmt.setLong(1, flag.getBit());
+                        maskStmt.setString(2, flagName);
+                        maskStmt.addBatch();
+                    }
                     
                     stmt.setString(1, flagName);
                     stmt.setString(2, flagValue);
@@ -572,6 +890,7 @@ public class SqliteLandDAO implements LandDAO {
                     stmt.addBatch();
                 }
                 
+                maskStmt.executeBatch();
                 stmt.executeBatch();
                 conn.commit();
             } catch (SQLException e) {
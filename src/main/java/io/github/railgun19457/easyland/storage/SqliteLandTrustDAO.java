@@ -41,7 +41,7 @@ public class SqliteLandTrustDAO implements LandTrustDAO {
     public Optional<LandTrust> getLandTrust(int landId, int playerId) throws SQLException {
         String sql = "SELECT * FROM land_trusts WHERE land_id = ? AND player_id = ?";
         
-        try (Connection conn = databaseManager.getConnection();
+        try (Connection conn = databaseManager.getReadConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
             
             stmt.setInt(1, landId);
@@ -62,7 +62,7 @@ public class SqliteLandTrustDAO implements LandTrustDAO {
         String sql = "SELECT * FROM land_trusts WHERE land_id = ?";
         List<LandTrust> trusts = new ArrayList<>();
         
-        try (Connection conn = databaseManager.getConnection();
+        try (Connection conn = databaseManager.getReadConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
             
             stmt.setInt(1, landId);
@@ -82,7 +82,7 @@ public class SqliteLandTrustDAO implements LandTrustDAO {
         String sql = "SELECT * FROM land_trusts WHERE player_id = ?";
         List<LandTrust> trusts = new ArrayList<>();
         
-        try (Connection conn = databaseManager.getConnection();
+        try (Connection conn = databaseManager.getReadConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
             
             stmt.setInt(1, playerId);
@@ -97,6 +97,23 @@ public class SqliteLandTrustDAO implements LandTrustDAO {
         return trusts;
     }
 
+    @Override
+    public List<LandTrust> getAllTrusts() throws SQLException {
+        String sql = "SELECT * FROM land_trusts ORDER BY land_id, player_id";
+        List<LandTrust> trusts = new ArrayList<>();
+        
+        try (Connection conn = databaseManager.getReadConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql);
+             ResultSet rs = stmt.executeQuery()) {
+            
+            while (rs.next()) {
+                trusts.add(mapResultSetToLandTrust(rs));
+            }
+        }
+        
+        return trusts;
+    }
+
     @Override
     public void deleteLandTrust(int landId, int playerId) throws SQLException {
         String sql = "DELETE FROM land_trusts WHERE land_id = ? AND player_id = ?";
@@ -139,7 +156,7 @@ public class SqliteLandTrustDAO implements LandTrustDAO {
     public boolean isPlayerTrusted(int landId, int playerId) throws SQLException {
         String sql = "SELECT COUNT(*) FROM land_trusts WHERE land_id = ? AND player_id = ?";
         
-        try (Connection conn = databaseManager.getConnection();
+        try (Connection conn = databaseManager.getReadConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
             
             stmt.setInt(1, landId);
@@ -159,7 +176,7 @@ public class SqliteLandTrustDAO implements LandTrustDAO {
     public int getTrustCountByLand(int landId) throws SQLException {
         String sql = "SELECT COUNT(*) FROM land_trusts WHERE land_id = ?";
         
-        try (Connection conn = databaseManager.getConnection();
+        try (Connection conn = databaseManager.getReadConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
             
             stmt.setInt(1, landId);
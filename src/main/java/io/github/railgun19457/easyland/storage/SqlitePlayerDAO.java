@@ -48,7 +48,7 @@ public class SqlitePlayerDAO implements PlayerDAO {
     public Optional<Player> getPlayerById(int id) throws SQLException {
         String sql = "SELECT * FROM players WHERE id = ?";
         
-        try (Connection conn = databaseManager.getConnection();
+        try (Connection conn = databaseManager.getReadConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
             
             stmt.setInt(1, id);
@@ -67,7 +67,7 @@ public class SqlitePlayerDAO implements PlayerDAO {
     public Optional<Player> getPlayerByUuid(UUID uuid) throws SQLException {
         String sql = "SELECT * FROM players WHERE uuid = ?";
         
-        try (Connection conn = databaseManager.getConnection();
+        try (Connection conn = databaseManager.getReadConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
             
             stmt.setString(1, uuid.toString());
@@ -86,7 +86,7 @@ public class SqlitePlayerDAO implements PlayerDAO {
     public Optional<Player> getPlayerByName(String name) throws SQLException {
         String sql = "SELECT * FROM players WHERE name = ?";
         
-        try (Connection conn = databaseManager.getConnection();
+        try (Connection conn = databaseManager.getReadConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
             
             stmt.setString(1, name);
@@ -116,6 +116,18 @@ public class SqlitePlayerDAO implements PlayerDAO {
         }
     }
 
+    @Override
+    public void updateLastSeen(int playerId) throws SQLException {
+        String sql = "UPDATE players SET last_seen = CURRENT_TIMESTAMP WHERE id = ?";
+        
+        try (Connection conn = databaseManager.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            
+            stmt.setInt(1, playerId);
+            stmt.executeUpdate();
+        }
+    }
+
     @Override
     public void deletePlayer(int id) throws SQLException {
         // Delete related records first
@@ -140,7 +152,25 @@ public class SqlitePlayerDAO implements PlayerDAO {
         String sql = "SELECT * FROM players ORDER BY id";
         List<Player> players = new ArrayList<>();
         
-        try (Connection conn = databaseManager.getConnection();
+        try (Connection conn = databaseManager.getReadConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    players.add(mapResultSetToPlayer(rs));
+                }
+            }
+        }
+        
+        return players;
+    }
+
+    @Override
+    public List<Player> getLandOwners() throws SQLException {
+        String sql = "SELECT * FROM players WHERE id IN (SELECT DISTINCT owner_id FROM lands) ORDER BY id";
+        List<Player> players = new ArrayList<>();
+        
+        try (Connection conn = databaseManager.getReadConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
             
             try (ResultSet rs = stmt.executeQuery()) {
@@ -157,7 +187,7 @@ public class SqlitePlayerDAO implements PlayerDAO {
     public boolean playerExists(UUID uuid) throws SQLException {
         String sql = "SELECT COUNT(*) FROM players WHERE uuid = ?";
         
-        try (Connection conn = databaseManager.getConnection();
+        try (Connection conn = databaseManager.getReadConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
             
             stmt.setString(1, uuid.toString());
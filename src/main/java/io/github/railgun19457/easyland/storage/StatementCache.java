@@ -0,0 +1,120 @@
+package io.github.railgun19457.easyland.storage;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Per-connection cache of prepared statements, keyed by SQL string.
+ * <p>
+ * {@link #prepare(String)} hands out a statement that is not used by anyone else. Closing it
+ * closes the result sets it produced, clears its parameters and batch, and returns it to the idle
+ * pool instead of finalizing it, so the next call with the same SQL skips parsing and planning.
+ * Statements checked out concurrently by different threads are distinct, so the shared
+ * connection can still be used from several threads. DAOs keep their usual try-with-resources
+ * code and do not need to know about the cache.
+ */
+class StatementCache {
+    // 缓存的不同 SQL 语句数量上限，DAO 中的 SQL 都是固定字符串，正常情况下远达不到
+    private static final int MAX_SQL_STRINGS = 256;
+
+    private final Connection connection;
+    private final int maxIdlePerSql;
+
+    // 格式: SQL -> 空闲的预编译语句
+    private final Map<String, ArrayDeque<PreparedStatement>> idle;
+    private boolean closed;
+
+    /**
+     * Constructor for StatementCache.
+     *
+     * @param connection    The underlying connection the statements are prepared on
+     * @param maxIdlePerSql The maximum number of idle statements kept per SQL string, 0 to disable caching
+     */
+    StatementCache(Connection connection, int maxIdlePerSql) {
+        this.connection = connection;
+        this.maxIdlePerSql = maxIdlePerSql;
+        this.idle = new HashMap<>();
+    }
+
+    /**
+     * Gets a prepared statement for the SQL, reusing an idle one when available.
+     *
+     * @param sql The SQL statement
+     * @return A statement whose {@code close()} returns it to the cache
+     * @throws SQLException if the statement cannot be prepared
+     */
+    PreparedStatement prepare(String sql) throws SQLException {
+        if (maxIdlePerSql <= 0) {
+            return connection.prepareStatement(sql);
+        }
+
+        PreparedStatement statement = null;
+        synchronized (this) {
+            ArrayDeque<PreparedStatement> statements = idle.get(sql);
+            if (statements != null) {
+                statement = statements.pollFirst();
+            }
+        }
+        if (statement == null) {
+            statement = connection.prepareStatement(sql);
+        }
+        return new CachedPreparedStatement(this, sql, statement);
+    }
+
+    /**
+     * Closes every idle statement. Statements still checked out are closed for real when released.
+     */
+    synchronized void closeAll() {
+        closed = true;
+        for (ArrayDeque<PreparedStatement> statements : idle.values()) {
+            for (PreparedStatement statement : statements) {
+                closeQuietly(statement);
+            }
+        }
+        idle.clear();
+    }
+
+    /**
+     * Returns a statement to the idle pool, or closes it if the pool for its SQL is full.
+     * Called by {@link CachedPreparedStatement#close()}.
+     *
+     * @param sql       The SQL the statement was prepared with
+     * @param statement The underlying statement
+     */
+    void release(String sql, PreparedStatement statement) {
+        try {
+            statement.clearParameters();
+            statement.clearBatch();
+        } catch (SQLException e) {
+            closeQuietly(statement);
+            return;
+        }
+
+        synchronized (this) {
+            if (!closed) {
+                ArrayDeque<PreparedStatement> statements = idle.get(sql);
+                if (statements == null && idle.size() < MAX_SQL_STRINGS) {
+                    statements = new ArrayDeque<>();
+                    idle.put(sql, statements);
+                }
+                if (statements != null && statements.size() < maxIdlePerSql) {
+                    statements.addFirst(statement);
+                    return;
+                }
+            }
+        }
+        closeQuietly(statement);
+    }
+
+    private static void closeQuietly(PreparedStatement statement) {
+        try {
+            statement.close();
+        } catch (SQLException ignored) {
+            // 语句即将被丢弃，关闭失败无需处理
+        }
+    }
+}